@@ -12,6 +12,7 @@ import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
 import com.example.playmatch.mvp.users.model.MvpUser;
 import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class MvpAuthController {
 
     private final OtpService otpService;
     private final MvpUserRepository mvpUserRepository;
+    private final MvpUserDirectory mvpUserDirectory;
 
     @PostMapping("/otp/request")
     public ResponseEntity<Void> requestOtp(@Valid @RequestBody OtpRequestDto request) {
@@ -93,6 +95,7 @@ public class MvpAuthController {
         }
 
         mvpUserRepository.save(user);
+        mvpUserDirectory.evict(userId);
 
         log.info("Profile updated successfully for userId: {}", userId);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,65 @@
+package com.example.playmatch.mvp.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * In-process sliding-window log: request timestamps per phone number.
+ * Each check-and-record runs inside a per-key compute, so concurrent requests cannot both pass.
+ * Limits are per pod; use the Redis store when running more than one instance.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mvp.otp.rate-limit-store", havingValue = "caffeine", matchIfMissing = true)
+public class CaffeineOtpRateLimitStore implements OtpRateLimitStore {
+
+    private final Cache<String, Deque<Long>> windows;
+    private final long windowMillis;
+    private final int maxRequests;
+
+    public CaffeineOtpRateLimitStore(
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.otp.rate-limit-window-minutes:10}") int windowMinutes,
+        @Value("${app.mvp.otp.max-requests-per-window:3}") int maxRequests,
+        @Value("${app.mvp.otp.rate-limit-max-phones:100000}") long maxPhones
+    ) {
+        this.windowMillis = Duration.ofMinutes(windowMinutes).toMillis();
+        this.maxRequests = maxRequests;
+        // A phone idle for a whole window has nothing left to remember
+        this.windows = Caffeine.newBuilder()
+            .maximumSize(maxPhones)
+            .expireAfterWrite(Duration.ofMillis(windowMillis))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "mvp.otp.rate_limit");
+    }
+
+    @Override
+    public boolean tryAcquire(String phoneNumber) {
+        long now = System.currentTimeMillis();
+        boolean[] allowed = new boolean[1];
+
+        windows.asMap().compute(phoneNumber, (phone, timestamps) -> {
+            Deque<Long> window = timestamps != null ? timestamps : new ArrayDeque<>(maxRequests);
+            while (!window.isEmpty() && window.peekFirst() <= now - windowMillis) {
+                window.pollFirst();
+            }
+            if (window.size() < maxRequests) {
+                window.addLast(now);
+                allowed[0] = true;
+            }
+            return window;
+        });
+
+        return allowed[0];
+    }
+}
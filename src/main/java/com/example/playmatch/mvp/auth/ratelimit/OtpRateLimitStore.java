@@ -0,0 +1,15 @@
+package com.example.playmatch.mvp.auth.ratelimit;
+
+/**
+ * Sliding-window throttle for OTP requests per phone number.
+ * Selected by app.mvp.otp.rate-limit-store: "caffeine" (single node, default) or "redis" (shared across pods).
+ */
+public interface OtpRateLimitStore {
+    /**
+     * Atomically check the window and, if under the limit, count this request
+     *
+     * @param phoneNumber Phone number requesting an OTP
+     * @return true if the request is allowed, false if the window is full
+     */
+    boolean tryAcquire(String phoneNumber);
+}
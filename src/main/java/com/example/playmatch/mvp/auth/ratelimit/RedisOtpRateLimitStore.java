@@ -0,0 +1,81 @@
+package com.example.playmatch.mvp.auth.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sliding-window log in a Redis sorted set per phone number (score = request time in millis).
+ * Pruning, counting and recording run in one Lua script, so the check is atomic across pods; the
+ * script reads the clock from Redis TIME, so clock skew between pods cannot stretch or shrink the window.
+ * While Redis is unreachable, requests are throttled by a per-pod Caffeine window instead and
+ * counted in mvp.otp.rate_limit.fallback.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mvp.otp.rate-limit-store", havingValue = "redis")
+@Slf4j
+public class RedisOtpRateLimitStore implements OtpRateLimitStore {
+
+    private static final String KEY_PREFIX = "mvp:otp:rate:";
+
+    // KEYS[1] window key; ARGV: window millis, max requests, unique member
+    private static final RedisScript<Long> SLIDING_WINDOW = new DefaultRedisScript<>("""
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - tonumber(ARGV[1]))
+        if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[2]) then
+            return 0
+        end
+        redis.call('ZADD', KEYS[1], now, ARGV[3])
+        redis.call('PEXPIRE', KEYS[1], ARGV[1])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final OtpRateLimitStore fallback;
+    private final Counter fallbackCounter;
+    private final long windowMillis;
+    private final int maxRequests;
+
+    public RedisOtpRateLimitStore(
+        StringRedisTemplate redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.otp.rate-limit-window-minutes:10}") int windowMinutes,
+        @Value("${app.mvp.otp.max-requests-per-window:3}") int maxRequests,
+        @Value("${app.mvp.otp.rate-limit-max-phones:100000}") long maxPhones
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = Duration.ofMinutes(windowMinutes).toMillis();
+        this.maxRequests = maxRequests;
+        this.fallback = new CaffeineOtpRateLimitStore(meterRegistry, windowMinutes, maxRequests, maxPhones);
+        this.fallbackCounter = Counter.builder("mvp.otp.rate_limit.fallback")
+            .description("OTP rate limit checks served by the local window because Redis failed")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(String phoneNumber) {
+        try {
+            Long allowed = redisTemplate.execute(SLIDING_WINDOW, List.of(KEY_PREFIX + phoneNumber),
+                String.valueOf(windowMillis),
+                String.valueOf(maxRequests),
+                UUID.randomUUID().toString());
+            return allowed != null && allowed == 1L;
+        } catch (RuntimeException e) {
+            // A Redis outage must neither lock every user out of login nor turn throttling off
+            fallbackCounter.increment();
+            log.error("OTP rate limit check failed, using the local window: {}", e.getMessage());
+            return fallback.tryAcquire(phoneNumber);
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.example.playmatch.mvp.auth.service.impl;
 
 import com.example.playmatch.auth.security.JwtService;
-import com.example.playmatch.mvp.auth.model.OtpRateLimit;
 import com.example.playmatch.mvp.auth.model.OtpVerification;
-import com.example.playmatch.mvp.auth.repository.OtpRateLimitRepository;
+import com.example.playmatch.mvp.auth.ratelimit.OtpRateLimitStore;
 import com.example.playmatch.mvp.auth.repository.OtpVerificationRepository;
 import com.example.playmatch.mvp.auth.service.OtpService;
 import com.example.playmatch.mvp.auth.service.SmsService;
@@ -18,7 +17,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -26,7 +24,7 @@ import java.util.Optional;
 public class OtpServiceImpl implements OtpService {
 
     private final OtpVerificationRepository otpVerificationRepository;
-    private final OtpRateLimitRepository otpRateLimitRepository;
+    private final OtpRateLimitStore otpRateLimitStore;
     private final MvpUserRepository mvpUserRepository;
     private final SmsService smsService;
     private final JwtService jwtService;
@@ -37,12 +35,6 @@ public class OtpServiceImpl implements OtpService {
     @Value("${app.mvp.otp.max-attempts:5}")
     private int maxAttempts;
 
-    @Value("${app.mvp.otp.rate-limit-window-minutes:10}")
-    private int rateLimitWindowMinutes;
-
-    @Value("${app.mvp.otp.max-requests-per-window:3}")
-    private int maxRequestsPerWindow;
-
     @Override
     @Transactional
     public void requestOtp(String phoneNumber) {
@@ -51,8 +43,11 @@ public class OtpServiceImpl implements OtpService {
             throw new MvpException(MvpError.INVALID_PHONE_NUMBER);
         }
 
-        // Check rate limiting
-        checkRateLimit(phoneNumber);
+        // Check and count in one atomic step, so concurrent requests cannot slip past the limit
+        if (!otpRateLimitStore.tryAcquire(phoneNumber)) {
+            log.warn("Rate limit exceeded for phone: {}", phoneNumber);
+            throw new MvpException(MvpError.OTP_RATE_LIMIT_EXCEEDED);
+        }
 
         // Generate hardcoded OTP for MVP
         String otpCode = HardcodedSmsService.getHardcodedOtp();
@@ -71,9 +66,6 @@ public class OtpServiceImpl implements OtpService {
         // Send OTP via SMS service (logs in MVP mode)
         smsService.sendOtp(phoneNumber, otpCode);
 
-        // Update rate limit counter
-        updateRateLimit(phoneNumber);
-
         log.info("OTP requested for phone number: {}", phoneNumber);
     }
 
@@ -139,51 +131,6 @@ public class OtpServiceImpl implements OtpService {
         );
     }
 
-    private void checkRateLimit(String phoneNumber) {
-        Optional<OtpRateLimit> rateLimitOpt = otpRateLimitRepository.findByPhoneNumber(phoneNumber);
-
-        if (rateLimitOpt.isPresent()) {
-            OtpRateLimit rateLimit = rateLimitOpt.get();
-
-            // Check if still within the rate limit window
-            if (rateLimit.isWithinWindow(rateLimitWindowMinutes)) {
-                if (rateLimit.getRequestCount() >= maxRequestsPerWindow) {
-                    log.warn("Rate limit exceeded for phone: {}", phoneNumber);
-                    throw new MvpException(MvpError.OTP_RATE_LIMIT_EXCEEDED);
-                }
-            } else {
-                // Window expired, reset counter
-                rateLimit.resetWindow();
-                otpRateLimitRepository.save(rateLimit);
-            }
-        }
-    }
-
-    private void updateRateLimit(String phoneNumber) {
-        Optional<OtpRateLimit> rateLimitOpt = otpRateLimitRepository.findByPhoneNumber(phoneNumber);
-
-        if (rateLimitOpt.isPresent()) {
-            OtpRateLimit rateLimit = rateLimitOpt.get();
-
-            if (rateLimit.isWithinWindow(rateLimitWindowMinutes)) {
-                rateLimit.incrementCount();
-            } else {
-                rateLimit.resetWindow();
-            }
-
-            otpRateLimitRepository.save(rateLimit);
-        } else {
-            // Create new rate limit record
-            OtpRateLimit newRateLimit = OtpRateLimit.builder()
-                .phoneNumber(phoneNumber)
-                .requestCount(1)
-                .windowStart(OffsetDateTime.now())
-                .build();
-
-            otpRateLimitRepository.save(newRateLimit);
-        }
-    }
-
     private MvpUser createNewMvpUser(String phoneNumber) {
         MvpUser newUser = MvpUser.builder()
             .phoneNumber(phoneNumber)
@@ -12,7 +12,8 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "backout_log")
+@Table(name = "backout_log",
+        indexes = @Index(name = "idx_backout_log_match_user", columnList = "match_id, user_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,10 +1,21 @@
 package com.example.playmatch.mvp.backout.model;
 
 public enum BackoutReason {
-    GENUINE,
-    CONFLICT,
-    COMMUNICATION,
-    PAYMENT,
-    NO_SHOW,
-    CAPTAIN_DECISION
+    GENUINE(0.5),
+    CONFLICT(1.0),
+    COMMUNICATION(1.5),
+    PAYMENT(1.5),
+    NO_SHOW(3.0),
+    CAPTAIN_DECISION(0.0);
+
+    // Trust penalty charged to the player; a captain's decision is not the player's fault
+    private final double trustPenalty;
+
+    BackoutReason(double trustPenalty) {
+        this.trustPenalty = trustPenalty;
+    }
+
+    public double getTrustPenalty() {
+        return trustPenalty;
+    }
 }
@@ -1,7 +1,9 @@
 package com.example.playmatch.mvp.backout.repository;
 
 import com.example.playmatch.mvp.backout.model.BackoutLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,12 @@ import java.util.UUID;
 public interface BackoutLogRepository extends JpaRepository<BackoutLog, Long> {
     List<BackoutLog> findByMatchId(UUID matchId);
     List<BackoutLog> findByUserId(Long userId);
+
+    /**
+     * Keyset chunk of backouts with id in (afterId, maxId], in id order
+     */
+    List<BackoutLog> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long maxId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM BackoutLog b")
+    Long findMaxId();
 }
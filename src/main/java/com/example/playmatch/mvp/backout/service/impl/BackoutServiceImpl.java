@@ -6,6 +6,7 @@ import com.example.playmatch.mvp.backout.repository.BackoutLogRepository;
 import com.example.playmatch.mvp.backout.service.BackoutService;
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
 import com.example.playmatch.mvp.matches.model.Match;
 import com.example.playmatch.mvp.matches.repository.MatchRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class BackoutServiceImpl implements BackoutService {
 
     private final BackoutLogRepository backoutLogRepository;
     private final MatchRepository matchRepository;
+    private final TrustScoreService trustScoreService;
 
     @Override
     @Transactional
@@ -43,6 +45,7 @@ public class BackoutServiceImpl implements BackoutService {
             .build();
 
         backoutLogRepository.save(backoutLog);
+        trustScoreService.recordBackout(userId, reason, backoutLog.getCreatedAt());
 
         log.info("Backout logged: matchId={}, userId={}, reason={}, loggedBy={}",
             matchId, userId, reason, captainId);
@@ -19,6 +19,10 @@ public enum MvpError implements ErrorCode {
     MATCH_ALREADY_COMPLETED("MVP-MATCH-003", "Match is already completed", HttpStatus.BAD_REQUEST),
     MATCH_CANCELLED("MVP-MATCH-004", "Match has been cancelled", HttpStatus.BAD_REQUEST),
     INVALID_MATCH_STATUS("MVP-MATCH-005", "Invalid match status for this operation", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("MVP-MATCH-006", "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+    STREAM_LIMIT_REACHED("MVP-MATCH-007", "Too many live event subscribers", HttpStatus.SERVICE_UNAVAILABLE),
+    INVALID_LOCATION("MVP-MATCH-008", "Invalid location or search radius", HttpStatus.BAD_REQUEST),
+    MATCH_BUSY("MVP-MATCH-009", "Match is being updated by another request, please retry", HttpStatus.CONFLICT),
 
     // Invite errors
     INVITE_NOT_FOUND("MVP-INVITE-001", "Invite not found", HttpStatus.NOT_FOUND),
@@ -31,6 +35,7 @@ public enum MvpError implements ErrorCode {
     EMERGENCY_LOCK_EXPIRED("MVP-EMERGENCY-003", "Emergency request lock has expired", HttpStatus.BAD_REQUEST),
     EMERGENCY_NOT_ENABLED("MVP-EMERGENCY-004", "Emergency requests not enabled for this match", HttpStatus.BAD_REQUEST),
     EMERGENCY_ALREADY_PROCESSED("MVP-EMERGENCY-005", "Emergency request already processed", HttpStatus.BAD_REQUEST),
+    EMERGENCY_SLOTS_FULL("MVP-EMERGENCY-006", "All emergency slots for this match are filled", HttpStatus.BAD_REQUEST),
 
     // Authorization errors
     NOT_CAPTAIN("MVP-AUTH-010", "Only the match captain can perform this action", HttpStatus.FORBIDDEN),
@@ -1,20 +1,25 @@
 package com.example.playmatch.mvp.common.exception;
 
+import com.example.playmatch.common.error.AppException;
 import com.example.playmatch.mvp.common.error.MvpError;
 
-public class MvpException extends RuntimeException {
+/**
+ * MVP domain error. Rendered by the global handler with the status and code of its {@link MvpError}.
+ */
+public class MvpException extends AppException {
     private final MvpError error;
 
     public MvpException(MvpError error) {
-        super(error.title());
+        super(error);
         this.error = error;
     }
 
     public MvpException(MvpError error, String message) {
-        super(message);
+        super(error, message);
         this.error = error;
     }
 
+    @Override
     public MvpError getError() {
         return error;
     }
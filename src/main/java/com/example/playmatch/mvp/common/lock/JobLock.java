@@ -0,0 +1,57 @@
+package com.example.playmatch.mvp.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cluster-wide single-runner guard for background jobs, backed by a Postgres session advisory lock.
+ * The lock is taken and released on one pooled connection held for the whole run; Postgres drops it
+ * if that connection dies, so a crashed pod never leaves the job locked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Run the task unless another instance already holds the named lock
+     *
+     * @param name Job name; the lock key is its hashtext
+     * @param task Work to run while holding the lock
+     * @return true if the task ran, false if it was skipped
+     */
+    public boolean runExclusively(String name, Runnable task) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(hashtext(?))", name)) {
+                log.info("Job {} is running on another instance, skipping", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(hashtext(?))", name);
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.playmatch.mvp.common.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Base32 geohash encoding plus the helpers needed for radius lookups
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Exclusive upper bound of the geohashes starting with prefix, so that
+     * {@code prefix <= hash < prefixEnd(prefix, maxLength)} selects the cell as an index range
+     *
+     * @param prefix    Geohash cell
+     * @param maxLength Longest geohash stored (bound for the last cell, "zz..z")
+     */
+    public static String prefixEnd(String prefix, int maxLength) {
+        String alphabet = new String(BASE32);
+        StringBuilder end = new StringBuilder(prefix);
+        for (int i = end.length() - 1; i >= 0; i--) {
+            int index = alphabet.indexOf(end.charAt(i));
+            if (index < BASE32.length - 1) {
+                end.setCharAt(i, BASE32[index + 1]);
+                end.setLength(i + 1);
+                return end.toString();
+            }
+        }
+        // Every character is the last symbol: nothing sorts after the cell except longer "z" runs
+        return String.valueOf(BASE32[BASE32.length - 1]).repeat(maxLength + 1);
+    }
+
+    /**
+     * Cell height in degrees of latitude at the given precision
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Cell width in degrees of longitude at the given precision
+     */
+    public static double cellWidth(int precision) {
+        int lngBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+
+    /**
+     * Geohash cells at the given precision covering the bounding box of a circle
+     */
+    public static Set<String> coveringCells(double lat, double lng, double radiusKm, int precision) {
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double lngDelta = Math.min(180.0, latDelta / cosLat);
+
+        double minLat = Math.max(-90.0, lat - latDelta);
+        double maxLat = Math.min(90.0, lat + latDelta);
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double y = minLat; y <= maxLat + height; y += height) {
+            double cellLat = Math.min(y, maxLat);
+            for (double x = lng - lngDelta; x <= lng + lngDelta + width; x += width) {
+                double cellLng = Math.min(x, lng + lngDelta);
+                cells.add(encode(cellLat, wrapLongitude(cellLng), precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static double wrapLongitude(double lng) {
+        if (lng >= 180.0) {
+            return lng - 360.0;
+        }
+        if (lng < -180.0) {
+            return lng + 360.0;
+        }
+        return lng;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.playmatch.mvp.common.util;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque (startTime, id) keyset cursor, encoded as URL-safe base64
+ */
+public record KeysetCursor(OffsetDateTime startTime, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = startTime.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            OffsetDateTime startTime = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            return new KeysetCursor(startTime, id);
+        } catch (RuntimeException e) {
+            throw new MvpException(MvpError.INVALID_CURSOR);
+        }
+    }
+}
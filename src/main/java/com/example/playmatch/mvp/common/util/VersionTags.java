@@ -0,0 +1,29 @@
+package com.example.playmatch.mvp.common.util;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Builds weak ETag values from version components (timestamps, counters, viewer)
+ */
+public final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    public static String weak(Object... parts) {
+        String value = Arrays.stream(parts)
+            .map(VersionTags::format)
+            .collect(Collectors.joining("-"));
+        return "W/\"" + value + "\"";
+    }
+
+    private static String format(Object part) {
+        if (part instanceof OffsetDateTime time) {
+            return Long.toString(time.toInstant().toEpochMilli());
+        }
+        return Objects.toString(part, "_");
+    }
+}
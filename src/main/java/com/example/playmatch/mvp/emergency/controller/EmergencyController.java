@@ -1,6 +1,7 @@
 package com.example.playmatch.mvp.emergency.controller;
 
 import com.example.playmatch.mvp.auth.security.CurrentMvpUser;
+import com.example.playmatch.mvp.emergency.dto.EmergencyCandidateDto;
 import com.example.playmatch.mvp.emergency.dto.EmergencyRequestDto;
 import com.example.playmatch.mvp.emergency.service.EmergencyService;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +38,19 @@ public class EmergencyController {
         return ResponseEntity.ok(requests);
     }
 
+    @GetMapping("/candidates")
+    public ResponseEntity<List<EmergencyCandidateDto>> getCandidates(
+        @PathVariable UUID matchId,
+        @RequestParam(required = false) String area,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Get emergency candidates: matchId={}, captainId={}, area={}", matchId, captainId, area);
+
+        List<EmergencyCandidateDto> candidates = emergencyService.getCandidates(matchId, captainId, area, limit);
+        return ResponseEntity.ok(candidates);
+    }
+
     @PostMapping("/{requestId}/approve")
     public ResponseEntity<Void> approveRequest(
         @PathVariable UUID matchId,
@@ -0,0 +1,18 @@
+package com.example.playmatch.mvp.emergency.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmergencyCandidateDto {
+    private Long userId;
+    private String userName;
+    private String phoneNumber;
+    private String area;
+    private Integer trustScore;
+}
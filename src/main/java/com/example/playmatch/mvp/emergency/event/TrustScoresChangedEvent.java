@@ -0,0 +1,9 @@
+package com.example.playmatch.mvp.emergency.event;
+
+import java.util.Set;
+
+/**
+ * Published after the trust scores of these users were written to emergency_pool
+ */
+public record TrustScoresChangedEvent(Set<Long> userIds) {
+}
@@ -30,9 +30,10 @@ public class EmergencyPool {
     @Column(name = "area", nullable = false, length = 100)
     private String area;
 
+    // Derived from user_trust_score by TrustScoreService; 50 is the neutral score of a user with no history
     @Column(name = "trust_score", nullable = false)
     @Builder.Default
-    private Integer trustScore = 0;
+    private Integer trustScore = 50;
 
     @Column(name = "active", nullable = false)
     @Builder.Default
@@ -12,7 +12,8 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "emergency_request")
+@Table(name = "emergency_request",
+        indexes = @Index(name = "idx_emergency_request_status_expiry", columnList = "status, lock_expires_at"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -53,6 +54,11 @@ public class EmergencyRequest {
     @Column(name = "rejected_at")
     private OffsetDateTime rejectedAt;
 
+    // Optimistic lock: a status change loses if another writer changed the row since it was read
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -0,0 +1,17 @@
+package com.example.playmatch.mvp.emergency.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Reliability evidence for one user observed at a point in time
+ */
+public record TrustScoreDelta(long userId, double credit, double penalty, OffsetDateTime at) {
+
+    public static TrustScoreDelta attended(long userId, OffsetDateTime at) {
+        return new TrustScoreDelta(userId, 1.0, 0.0, at);
+    }
+
+    public static TrustScoreDelta backedOut(long userId, double penalty, OffsetDateTime at) {
+        return new TrustScoreDelta(userId, 0.0, penalty, at);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.playmatch.mvp.emergency.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Time-decayed reliability evidence per user, one row per user.
+ * Credit (attended matches) and penalty (weighted backouts) are stored as of decayedAt and
+ * halve every half-life; trust score = 100 * (credit + 1) / (credit + penalty + 2).
+ * Written only by additive upserts from TrustScoreBatchRepository.
+ */
+@Entity
+@Table(name = "user_trust_score")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTrustScore {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "credit", nullable = false)
+    private Double credit;
+
+    @Column(name = "penalty", nullable = false)
+    private Double penalty;
+
+    @Column(name = "decayed_at", nullable = false)
+    private OffsetDateTime decayedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
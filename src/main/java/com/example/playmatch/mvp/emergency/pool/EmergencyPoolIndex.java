@@ -0,0 +1,125 @@
+package com.example.playmatch.mvp.emergency.pool;
+
+import com.example.playmatch.mvp.emergency.event.TrustScoresChangedEvent;
+import com.example.playmatch.mvp.emergency.model.EmergencyPool;
+import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory per-area index of active emergency pool members, highest trust score first.
+ * Loaded at startup, updated through {@link #update} when pool rows change in this process,
+ * and rebuilt periodically to pick up changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyPoolIndex {
+
+    private static final Comparator<PoolCandidate> BY_TRUST = Comparator
+        .comparingInt(PoolCandidate::trustScore).reversed()
+        .thenComparingLong(PoolCandidate::userId);
+
+    private final EmergencyPoolRepository emergencyPoolRepository;
+
+    private final Map<String, NavigableSet<PoolCandidate>> byArea = new ConcurrentHashMap<>();
+    private final Map<Long, PoolCandidate> byUser = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mvp.emergency.pool-rebuild-ms:600000}",
+        initialDelayString = "${app.mvp.emergency.pool-rebuild-ms:600000}")
+    public void rebuild() {
+        List<EmergencyPool> members = emergencyPoolRepository.findAll();
+        Set<Long> seen = new HashSet<>();
+        for (EmergencyPool member : members) {
+            update(member);
+            seen.add(member.getUserId());
+        }
+        byUser.keySet().stream()
+            .filter(userId -> !seen.contains(userId))
+            .toList()
+            .forEach(this::remove);
+
+        log.info("Emergency pool index rebuilt: members={}, areas={}", byUser.size(), byArea.size());
+    }
+
+    /**
+     * Pick up trust scores written by TrustScoreService once they are committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTrustScoresChanged(TrustScoresChangedEvent event) {
+        emergencyPoolRepository.findByUserIdIn(event.userIds()).forEach(this::update);
+    }
+
+    /**
+     * Apply a pool row change (insert, trust score or area change, activation toggle).
+     * The swap of a member's entry runs under the byUser lock for that user, so concurrent
+     * updates, removals and rebuilds of the same user cannot leave two candidates behind.
+     */
+    public void update(EmergencyPool member) {
+        byUser.compute(member.getUserId(), (userId, previous) -> {
+            if (previous != null) {
+                removeFromArea(previous);
+            }
+            if (!Boolean.TRUE.equals(member.getActive()) || member.getArea() == null) {
+                return null;
+            }
+            PoolCandidate candidate = new PoolCandidate(
+                userId, member.getArea(), member.getTrustScore() != null ? member.getTrustScore() : 0);
+            byArea.computeIfAbsent(areaKey(candidate.area()), a -> new ConcurrentSkipListSet<>(BY_TRUST)).add(candidate);
+            return candidate;
+        });
+    }
+
+    public void remove(Long userId) {
+        byUser.computeIfPresent(userId, (id, previous) -> {
+            removeFromArea(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Members of an area in trust order, skipping the first skip entries
+     */
+    public List<PoolCandidate> window(String area, int skip, int size) {
+        NavigableSet<PoolCandidate> members = byArea.get(areaKey(area));
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+            .skip(skip)
+            .limit(size)
+            .toList();
+    }
+
+    private void removeFromArea(PoolCandidate candidate) {
+        NavigableSet<PoolCandidate> members = byArea.get(areaKey(candidate.area()));
+        if (members != null) {
+            members.remove(candidate);
+        }
+    }
+
+    private static String areaKey(String area) {
+        return area == null ? "" : area.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.playmatch.mvp.emergency.pool;
+
+/**
+ * Active emergency pool member as held by EmergencyPoolIndex
+ */
+public record PoolCandidate(Long userId, String area, int trustScore) {
+}
@@ -2,8 +2,13 @@ package com.example.playmatch.mvp.emergency.repository;
 
 import com.example.playmatch.mvp.emergency.model.EmergencyPool;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +16,33 @@ import java.util.Optional;
 public interface EmergencyPoolRepository extends JpaRepository<EmergencyPool, Long> {
     Optional<EmergencyPool> findByUserId(Long userId);
     List<EmergencyPool> findByAreaAndActiveTrue(String area);
+    List<EmergencyPool> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Copy the given users' trust scores from user_trust_score; users without evidence get the neutral 50
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE emergency_pool p SET
+            trust_score = COALESCE((
+                SELECT ROUND(100 * (t.credit + 1) / (t.credit + t.penalty + 2))
+                FROM user_trust_score t WHERE t.user_id = p.user_id), 50),
+            updated_at = now()
+        WHERE p.user_id IN (:userIds)
+        """, nativeQuery = true)
+    int syncTrustScores(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Copy every pool member's trust score from user_trust_score (backfill only)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE emergency_pool p SET
+            trust_score = COALESCE((
+                SELECT ROUND(100 * (t.credit + 1) / (t.credit + t.penalty + 2))
+                FROM user_trust_score t WHERE t.user_id = p.user_id), 50),
+            updated_at = now()
+        """, nativeQuery = true)
+    int syncAllTrustScores();
 }
@@ -1,9 +1,14 @@
 package com.example.playmatch.mvp.emergency.repository;
 
+import com.example.playmatch.mvp.emergency.dto.EmergencyRequestDto;
 import com.example.playmatch.mvp.emergency.model.EmergencyRequest;
 import com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -14,9 +19,70 @@ import java.util.UUID;
 public interface EmergencyRequestRepository extends JpaRepository<EmergencyRequest, Long> {
     List<EmergencyRequest> findByMatchIdAndStatus(UUID matchId, EmergencyRequestStatus status);
 
+    /**
+     * Live requests of a match with requester and pool details, ordered by trust score then request time
+     */
+    @Query("""
+        SELECT new com.example.playmatch.mvp.emergency.dto.EmergencyRequestDto(
+            r.id, r.userId, COALESCE(u.name, 'Unknown'), u.phoneNumber,
+            COALESCE(ep.area, u.area), COALESCE(ep.trustScore, 0),
+            r.status, r.requestedAt, r.lockExpiresAt)
+        FROM EmergencyRequest r
+        LEFT JOIN MvpUser u ON u.id = r.userId
+        LEFT JOIN EmergencyPool ep ON ep.userId = r.userId
+        WHERE r.matchId = :matchId
+          AND r.status = :status
+          AND r.lockExpiresAt > :now
+        ORDER BY COALESCE(ep.trustScore, 0) DESC, r.requestedAt ASC
+        """)
+    List<EmergencyRequestDto> findPendingRequestDtos(
+        @Param("matchId") UUID matchId,
+        @Param("status") EmergencyRequestStatus status,
+        @Param("now") OffsetDateTime now
+    );
+
     Optional<EmergencyRequest> findByUserIdAndStatus(Long userId, EmergencyRequestStatus status);
 
     List<EmergencyRequest> findByStatusAndLockExpiresAtBefore(EmergencyRequestStatus status, OffsetDateTime now);
 
     boolean existsByUserIdAndStatus(Long userId, EmergencyRequestStatus status);
+
+    boolean existsByUserIdAndStatusAndLockExpiresAtAfter(Long userId, EmergencyRequestStatus status, OffsetDateTime now);
+
+    List<EmergencyRequest> findByStatus(EmergencyRequestStatus status);
+
+    /**
+     * Expire one request if it is still REQUESTED and past its lock deadline.
+     * Conditional, so concurrent expiry from several pods (or a racing approve/reject) is harmless.
+     *
+     * @return 1 if this call expired the request, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE EmergencyRequest r SET r.status = com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus.EXPIRED,
+            r.updatedAt = :now, r.version = r.version + 1
+        WHERE r.id = :id
+          AND r.status = com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus.REQUESTED
+          AND r.lockExpiresAt <= :now
+        """)
+    int expireIfDue(@Param("id") Long id, @Param("now") OffsetDateTime now);
+
+    /**
+     * Expire up to :limit overdue requests in one statement and return them.
+     * SKIP LOCKED lets concurrent sweeps (other pods, the expiry engine) take disjoint rows.
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE emergency_request SET status = 'EXPIRED', updated_at = now(), version = version + 1
+        WHERE id IN (
+            SELECT id FROM emergency_request
+            WHERE status = 'REQUESTED' AND lock_expires_at < now()
+            ORDER BY lock_expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id AS id, match_id AS matchId, user_id AS userId
+        """, nativeQuery = true)
+    List<ExpiredEmergencyRequestView> expireDueChunk(@Param("limit") int limit);
 }
@@ -0,0 +1,9 @@
+package com.example.playmatch.mvp.emergency.repository;
+
+import java.util.UUID;
+
+public interface ExpiredEmergencyRequestView {
+    Long getId();
+    UUID getMatchId();
+    Long getUserId();
+}
@@ -0,0 +1,56 @@
+package com.example.playmatch.mvp.emergency.repository;
+
+import com.example.playmatch.mvp.emergency.model.TrustScoreDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched additive upserts into user_trust_score.
+ * Both sides are decayed to the later of the two timestamps before adding, so deltas
+ * may arrive in any order (live events and backfill interleave safely).
+ */
+@Repository
+@RequiredArgsConstructor
+public class TrustScoreBatchRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO user_trust_score AS t (user_id, credit, penalty, decayed_at, updated_at)
+        VALUES (?, ?, ?, ?, now())
+        ON CONFLICT (user_id) DO UPDATE SET
+            credit = t.credit * power(0.5, greatest(0, extract(epoch FROM EXCLUDED.decayed_at - t.decayed_at)) / ?)
+                + EXCLUDED.credit * power(0.5, greatest(0, extract(epoch FROM t.decayed_at - EXCLUDED.decayed_at)) / ?),
+            penalty = t.penalty * power(0.5, greatest(0, extract(epoch FROM EXCLUDED.decayed_at - t.decayed_at)) / ?)
+                + EXCLUDED.penalty * power(0.5, greatest(0, extract(epoch FROM t.decayed_at - EXCLUDED.decayed_at)) / ?),
+            decayed_at = greatest(t.decayed_at, EXCLUDED.decayed_at),
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final int BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param deltas          Deltas to add, sorted by user ID so concurrent batches lock rows in the same order
+     * @param halfLifeSeconds Decay half-life
+     */
+    public void addAll(List<TrustScoreDelta> deltas, double halfLifeSeconds) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.userId());
+            ps.setDouble(2, delta.credit());
+            ps.setDouble(3, delta.penalty());
+            ps.setTimestamp(4, Timestamp.from(delta.at().toInstant()));
+            ps.setDouble(5, halfLifeSeconds);
+            ps.setDouble(6, halfLifeSeconds);
+            ps.setDouble(7, halfLifeSeconds);
+            ps.setDouble(8, halfLifeSeconds);
+        });
+    }
+
+    public int deleteAll() {
+        return jdbcTemplate.update("DELETE FROM user_trust_score");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.playmatch.mvp.emergency.scheduler;
+
+import com.example.playmatch.mvp.emergency.model.EmergencyRequest;
+import com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus;
+import com.example.playmatch.mvp.emergency.repository.EmergencyRequestRepository;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires emergency request locks within about a second of lockExpiresAt.
+ * Deadlines sit in an in-process DelayQueue, loaded from the database at startup and fed by
+ * requestEmergencySpot; a single worker thread expires each one with a conditional UPDATE, so
+ * several pods holding the same deadline is safe. EmergencyLockExpiryScheduler remains as a
+ * backstop for requests created on a pod that has since gone away.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyLockExpiryEngine {
+
+    private final EmergencyRequestRepository emergencyRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final DelayQueue<Deadline> deadlines = new DelayQueue<>();
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<EmergencyRequest> pending = emergencyRequestRepository.findByStatus(EmergencyRequestStatus.REQUESTED);
+        pending.forEach(this::schedule);
+
+        worker = new Thread(this::run, "mvp-emergency-expiry");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Emergency lock expiry engine started with {} pending deadline(s)", pending.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public void schedule(EmergencyRequest request) {
+        deadlines.offer(new Deadline(request.getId(), request.getMatchId(), request.getUserId(),
+            request.getLockExpiresAt().toInstant().toEpochMilli()));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expire(deadlines.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Emergency lock expiry failed; the backstop scheduler will retry", e);
+            }
+        }
+    }
+
+    private void expire(Deadline deadline) {
+        if (emergencyRequestRepository.expireIfDue(deadline.requestId(), OffsetDateTime.now()) == 0) {
+            // Already approved, rejected or expired elsewhere
+            return;
+        }
+        eventPublisher.publishEvent(
+            new MatchChangedEvent(deadline.matchId(), MatchChangeType.EMERGENCY_EXPIRED, deadline.userId()));
+        meterRegistry.counter("mvp.emergency.expired", "source", "engine").increment();
+        log.debug("Expired emergency request: matchId={}, userId={}, requestId={}",
+            deadline.matchId(), deadline.userId(), deadline.requestId());
+    }
+
+    private record Deadline(Long requestId, UUID matchId, Long userId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Deadline) other).expiresAtMillis);
+        }
+    }
+}
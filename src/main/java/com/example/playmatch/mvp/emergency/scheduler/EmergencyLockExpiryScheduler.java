@@ -1,53 +1,84 @@
 package com.example.playmatch.mvp.emergency.scheduler;
 
-import com.example.playmatch.mvp.emergency.model.EmergencyRequest;
-import com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus;
 import com.example.playmatch.mvp.emergency.repository.EmergencyRequestRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.playmatch.mvp.emergency.repository.ExpiredEmergencyRequestView;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class EmergencyLockExpiryScheduler {
 
     private final EmergencyRequestRepository emergencyRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+    private final int chunkSize;
+
+    public EmergencyLockExpiryScheduler(
+        EmergencyRequestRepository emergencyRequestRepository,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.emergency.expiry-chunk-size:500}") int chunkSize
+    ) {
+        this.emergencyRequestRepository = emergencyRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.expiredCounter = Counter.builder("mvp.emergency.expired")
+            .tag("source", "sweep")
+            .description("Emergency requests expired by the backstop sweep")
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("mvp.emergency.expiry.sweep")
+            .description("Duration of the emergency lock expiry sweep")
+            .register(meterRegistry);
+    }
 
     /**
-     * Expire emergency requests with locks that have passed their expiry time
-     * Runs every 5 minutes (300,000 milliseconds)
+     * Backstop for EmergencyLockExpiryEngine: expire emergency requests with locks that have passed their expiry time
+     * Runs every minute by default; each chunk is one set-based UPDATE in its own short transaction
      */
-    @Scheduled(fixedRate = 300000)
-    @Transactional
+    @Scheduled(fixedRateString = "${app.mvp.emergency.expiry-backstop-ms:60000}")
     public void expireLockedRequests() {
-        log.debug("Running emergency lock expiry scheduler");
+        long started = System.nanoTime();
+        int expired = 0;
+        int chunks = 0;
+        Set<UUID> matchIds = new HashSet<>();
+
+        List<ExpiredEmergencyRequestView> chunk;
+        do {
+            chunk = emergencyRequestRepository.expireDueChunk(chunkSize);
+            chunks++;
+            expired += chunk.size();
+            for (ExpiredEmergencyRequestView request : chunk) {
+                matchIds.add(request.getMatchId());
+                eventPublisher.publishEvent(new MatchChangedEvent(
+                    request.getMatchId(), MatchChangeType.EMERGENCY_EXPIRED, request.getUserId()));
+            }
+        } while (chunk.size() == chunkSize);
 
-        List<EmergencyRequest> expired = emergencyRequestRepository
-            .findByStatusAndLockExpiresAtBefore(
-                EmergencyRequestStatus.REQUESTED,
-                OffsetDateTime.now()
-            );
+        long elapsedNanos = System.nanoTime() - started;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        expiredCounter.increment(expired);
 
-        if (expired.isEmpty()) {
+        if (expired == 0) {
             log.debug("No expired emergency requests found");
             return;
         }
-
-        // Update status to EXPIRED
-        expired.forEach(request -> {
-            request.setStatus(EmergencyRequestStatus.EXPIRED);
-            log.info("Expired emergency request: matchId={}, userId={}, requestId={}",
-                request.getMatchId(), request.getUserId(), request.getId());
-        });
-
-        emergencyRequestRepository.saveAll(expired);
-
-        log.info("Expired {} emergency request(s)", expired.size());
+        log.info("Expired {} emergency request(s) across {} match(es) in {} chunk(s), {} ms",
+            expired, matchIds.size(), chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
     }
 }
@@ -0,0 +1,116 @@
+package com.example.playmatch.mvp.emergency.scheduler;
+
+import com.example.playmatch.mvp.backout.model.BackoutLog;
+import com.example.playmatch.mvp.backout.repository.BackoutLogRepository;
+import com.example.playmatch.mvp.common.lock.JobLock;
+import com.example.playmatch.mvp.emergency.model.TrustScoreDelta;
+import com.example.playmatch.mvp.emergency.pool.EmergencyPoolIndex;
+import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import com.example.playmatch.mvp.emergency.repository.TrustScoreBatchRepository;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.matches.repository.AttendanceView;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes user_trust_score from backout_log and completed-match attendance.
+ * Source rows are read in id-keyset chunks up to the ids present when the job starts;
+ * later rows are covered by the live updates in TrustScoreService.
+ * Only one instance rebuilds at a time: the rebuild starts by clearing the table and then adds
+ * evidence, so two overlapping runs would count every row twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrustScoreBackfillJob {
+
+    private static final String JOB_NAME = "trust-score-backfill";
+
+    private final BackoutLogRepository backoutLogRepository;
+    private final MatchParticipantRepository participantRepository;
+    private final TrustScoreBatchRepository trustScoreBatchRepository;
+    private final EmergencyPoolRepository emergencyPoolRepository;
+    private final TrustScoreService trustScoreService;
+    private final EmergencyPoolIndex emergencyPoolIndex;
+    private final JobLock jobLock;
+
+    @Value("${app.mvp.trust.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.mvp.trust.backfill-chunk-size:1000}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuild every trust score from scratch; each chunk commits in its own transaction.
+     * Skipped if another instance is already running the backfill.
+     *
+     * @return true if this call ran the backfill
+     */
+    public boolean backfill() {
+        return jobLock.runExclusively(JOB_NAME, this::rebuild);
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+
+        Long maxBackoutId = backoutLogRepository.findMaxId();
+        Long maxParticipantId = participantRepository.findMaxId();
+        trustScoreBatchRepository.deleteAll();
+
+        int backouts = 0;
+        long afterId = 0;
+        List<BackoutLog> backoutChunk;
+        do {
+            backoutChunk = backoutLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                afterId, maxBackoutId, PageRequest.of(0, chunkSize));
+            if (backoutChunk.isEmpty()) {
+                break;
+            }
+            trustScoreService.apply(backoutChunk.stream()
+                .filter(b -> b.getReason().getTrustPenalty() > 0)
+                .map(b -> TrustScoreDelta.backedOut(b.getUserId(), b.getReason().getTrustPenalty(), b.getCreatedAt()))
+                .collect(Collectors.toList()));
+            backouts += backoutChunk.size();
+            afterId = backoutChunk.get(backoutChunk.size() - 1).getId();
+        } while (backoutChunk.size() == chunkSize);
+
+        int attendances = 0;
+        afterId = 0;
+        List<AttendanceView> attendanceChunk;
+        do {
+            attendanceChunk = participantRepository.findAttendanceChunk(
+                afterId, maxParticipantId, PageRequest.of(0, chunkSize));
+            if (attendanceChunk.isEmpty()) {
+                break;
+            }
+            trustScoreService.apply(attendanceChunk.stream()
+                .map(a -> TrustScoreDelta.attended(a.getUserId(), a.getStartTime()))
+                .collect(Collectors.toList()));
+            attendances += attendanceChunk.size();
+            afterId = attendanceChunk.get(attendanceChunk.size() - 1).getId();
+        } while (attendanceChunk.size() == chunkSize);
+
+        // Members with no evidence at all still carry the pre-backfill default
+        int synced = emergencyPoolRepository.syncAllTrustScores();
+        emergencyPoolIndex.rebuild();
+
+        log.info("Trust score backfill: backouts={}, attendances={}, poolMembers={}, {} ms",
+            backouts, attendances, synced, System.currentTimeMillis() - started);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.playmatch.mvp.emergency.service;
 
+import com.example.playmatch.mvp.emergency.dto.EmergencyCandidateDto;
 import com.example.playmatch.mvp.emergency.dto.EmergencyRequestDto;
 
 import java.util.List;
@@ -22,6 +23,17 @@ public interface EmergencyService {
      */
     List<EmergencyRequestDto> getPendingRequests(UUID matchId);
 
+    /**
+     * Rank active emergency pool members who could stand in for a match (captain only)
+     *
+     * @param matchId   Match ID
+     * @param captainId Captain user ID
+     * @param area      Pool area to search, null for the captain's area
+     * @param limit     Max candidates
+     * @return Candidates by trust score, excluding players committed to overlapping matches
+     */
+    List<EmergencyCandidateDto> getCandidates(UUID matchId, Long captainId, String area, int limit);
+
     /**
      * Approve emergency request (captain only)
      *
@@ -0,0 +1,35 @@
+package com.example.playmatch.mvp.emergency.service;
+
+import com.example.playmatch.mvp.backout.model.BackoutReason;
+import com.example.playmatch.mvp.emergency.model.TrustScoreDelta;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TrustScoreService {
+    /**
+     * Charge a backout against a user's trust score within the caller's transaction
+     *
+     * @param userId User who backed out
+     * @param reason Backout reason (determines the penalty weight)
+     * @param at     When the backout happened
+     */
+    void recordBackout(Long userId, BackoutReason reason, OffsetDateTime at);
+
+    /**
+     * Credit every confirmed participant of a completed match who has no backout logged for it,
+     * within the caller's transaction
+     *
+     * @param matchId Completed match
+     * @param at      Match start time
+     */
+    void recordAttendance(UUID matchId, OffsetDateTime at);
+
+    /**
+     * Add reliability evidence and refresh the affected users' emergency pool scores
+     *
+     * @param deltas Evidence to add, in any order
+     */
+    void apply(List<TrustScoreDelta> deltas);
+}
@@ -2,26 +2,38 @@ package com.example.playmatch.mvp.emergency.service.impl;
 
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.emergency.dto.EmergencyCandidateDto;
 import com.example.playmatch.mvp.emergency.dto.EmergencyRequestDto;
-import com.example.playmatch.mvp.emergency.model.EmergencyPool;
 import com.example.playmatch.mvp.emergency.model.EmergencyRequest;
 import com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus;
-import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import com.example.playmatch.mvp.emergency.pool.EmergencyPoolIndex;
+import com.example.playmatch.mvp.emergency.pool.PoolCandidate;
 import com.example.playmatch.mvp.emergency.repository.EmergencyRequestRepository;
+import com.example.playmatch.mvp.emergency.scheduler.EmergencyLockExpiryEngine;
 import com.example.playmatch.mvp.emergency.service.EmergencyService;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
 import com.example.playmatch.mvp.matches.model.*;
 import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
 import com.example.playmatch.mvp.matches.repository.MatchRepository;
-import com.example.playmatch.mvp.users.model.MvpUser;
-import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,15 +42,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class EmergencyServiceImpl implements EmergencyService {
 
+    private static final int MAX_CANDIDATES = 50;
+
     private final EmergencyRequestRepository emergencyRequestRepository;
-    private final EmergencyPoolRepository emergencyPoolRepository;
     private final MatchRepository matchRepository;
     private final MatchParticipantRepository participantRepository;
-    private final MvpUserRepository mvpUserRepository;
+    private final MvpUserDirectory mvpUserDirectory;
+    private final MatchCounterService matchCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmergencyLockExpiryEngine emergencyLockExpiryEngine;
+    private final EmergencyPoolIndex emergencyPoolIndex;
 
     @Value("${app.mvp.emergency.lock-duration-minutes:60}")
     private int lockDurationMinutes;
 
+    // Matches starting within this many hours of each other are treated as overlapping
+    @Value("${app.mvp.emergency.overlap-hours:4}")
+    private int overlapHours;
+
     @Override
     @Transactional
     public void requestEmergencySpot(UUID matchId, Long userId) {
@@ -50,8 +71,9 @@ public class EmergencyServiceImpl implements EmergencyService {
             throw new MvpException(MvpError.EMERGENCY_NOT_ENABLED);
         }
 
-        // Check if user already has an active request globally
-        if (emergencyRequestRepository.existsByUserIdAndStatus(userId, EmergencyRequestStatus.REQUESTED)) {
+        // Check if user already has an active request globally (a lapsed lock no longer counts)
+        if (emergencyRequestRepository.existsByUserIdAndStatusAndLockExpiresAtAfter(
+                userId, EmergencyRequestStatus.REQUESTED, OffsetDateTime.now())) {
             throw new MvpException(MvpError.EMERGENCY_ALREADY_REQUESTED);
         }
 
@@ -65,24 +87,84 @@ public class EmergencyServiceImpl implements EmergencyService {
             .build();
 
         emergencyRequestRepository.save(request);
+        // Safe before commit: expiry is a conditional UPDATE that no-ops if this insert rolls back
+        emergencyLockExpiryEngine.schedule(request);
+        eventPublisher.publishEvent(new MatchChangedEvent(matchId, MatchChangeType.EMERGENCY_REQUESTED, userId));
         log.info("Emergency request created: matchId={}, userId={}, expiresAt={}",
             matchId, userId, request.getLockExpiresAt());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmergencyRequestDto> getPendingRequests(UUID matchId) {
-        List<EmergencyRequest> requests = emergencyRequestRepository
-            .findByMatchIdAndStatus(matchId, EmergencyRequestStatus.REQUESTED);
+        // Request, user and pool fields in one query, best trust score first
+        return emergencyRequestRepository.findPendingRequestDtos(
+            matchId, EmergencyRequestStatus.REQUESTED, OffsetDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmergencyCandidateDto> getCandidates(UUID matchId, Long captainId, String area, int limit) {
+        Match match = matchRepository.findById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+
+        // Verify captain
+        if (!match.isCaptain(captainId)) {
+            throw new MvpException(MvpError.NOT_CAPTAIN);
+        }
+
+        String searchArea = area;
+        if (searchArea == null || searchArea.isBlank()) {
+            searchArea = mvpUserDirectory.find(captainId).map(UserContact::area).orElse(null);
+        }
+        if (searchArea == null || searchArea.isBlank()) {
+            return List.of();
+        }
 
-        return requests.stream()
-            .map(this::mapToDto)
+        int size = Math.max(1, Math.min(limit, MAX_CANDIDATES));
+        OffsetDateTime from = match.getStartTime().minusHours(overlapHours);
+        OffsetDateTime to = match.getStartTime().plusHours(overlapHours);
+
+        // Walk the trust-ordered index in windows; one exclusion query per window (normally just one)
+        List<PoolCandidate> selected = new ArrayList<>(size);
+        int window = Math.max(size * 2, 20);
+        for (int skip = 0; selected.size() < size; skip += window) {
+            List<PoolCandidate> batch = emergencyPoolIndex.window(searchArea, skip, window);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Set<Long> committed = new HashSet<>(matchRepository.findCommittedUserIds(
+                batch.stream().map(PoolCandidate::userId).collect(Collectors.toList()), from, to));
+            batch.stream()
+                .filter(c -> !committed.contains(c.userId()) && !c.userId().equals(captainId))
+                .limit(size - selected.size())
+                .forEach(selected::add);
+        }
+
+        Map<Long, UserContact> users = mvpUserDirectory.resolve(
+            selected.stream().map(PoolCandidate::userId).collect(Collectors.toSet()));
+
+        log.info("Emergency candidates: matchId={}, area={}, found={}", matchId, searchArea, selected.size());
+        return selected.stream()
+            .map(c -> {
+                UserContact user = users.get(c.userId());
+                return EmergencyCandidateDto.builder()
+                    .userId(c.userId())
+                    .userName(user != null ? user.name() : "Unknown")
+                    .phoneNumber(user != null ? user.phoneNumber() : null)
+                    .area(c.area())
+                    .trustScore(c.trustScore())
+                    .build();
+            })
             .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public void approveRequest(UUID matchId, Long requestId, Long captainId) {
-        Match match = matchRepository.findById(matchId)
+        // Lock the match row: approvals and YES responses for the same match fill slots one at a time
+        Match match = matchRepository.lockById(matchId)
             .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
 
         // Verify captain
@@ -90,6 +172,10 @@ public class EmergencyServiceImpl implements EmergencyService {
             throw new MvpException(MvpError.NOT_CAPTAIN);
         }
 
+        if (match.getStatus() != MatchStatus.CREATED && match.getStatus() != MatchStatus.ACTIVE) {
+            throw new MvpException(MvpError.INVALID_MATCH_STATUS);
+        }
+
         EmergencyRequest request = emergencyRequestRepository.findById(requestId)
             .orElseThrow(() -> new MvpException(MvpError.EMERGENCY_REQUEST_NOT_FOUND));
 
@@ -98,6 +184,12 @@ public class EmergencyServiceImpl implements EmergencyService {
             throw new MvpException(MvpError.EMERGENCY_REQUEST_NOT_FOUND);
         }
 
+        // Idempotent: a repeated approval (double tap, client retry) succeeds without side effects
+        if (request.getStatus() == EmergencyRequestStatus.APPROVED) {
+            log.debug("Emergency request {} already approved for match {}", requestId, matchId);
+            return;
+        }
+
         // Check status
         if (request.getStatus() != EmergencyRequestStatus.REQUESTED) {
             throw new MvpException(MvpError.EMERGENCY_ALREADY_PROCESSED);
@@ -105,29 +197,60 @@ public class EmergencyServiceImpl implements EmergencyService {
 
         // Check if expired
         if (request.isExpired()) {
-            request.setStatus(EmergencyRequestStatus.EXPIRED);
-            emergencyRequestRepository.save(request);
             throw new MvpException(MvpError.EMERGENCY_LOCK_EXPIRED);
         }
 
-        // Approve request
+        // Counters are current under the match lock
+        if (match.getEmergencyCount() >= match.getEmergencySlots()) {
+            throw new MvpException(MvpError.EMERGENCY_SLOTS_FULL);
+        }
+
+        Optional<MatchParticipant> existingParticipant =
+            participantRepository.findByMatchIdAndUserId(matchId, request.getUserId());
+        if (existingParticipant.isPresent()
+                && existingParticipant.get().getStatus() != ParticipantStatus.BACKED_OUT) {
+            throw new MvpException(MvpError.ALREADY_RESPONDED);
+        }
+
+        // Approve request; the version check fails if expiry or a reject changed the row since it was read
         request.setStatus(EmergencyRequestStatus.APPROVED);
         request.setApprovedAt(OffsetDateTime.now());
-        emergencyRequestRepository.save(request);
-
-        // Create participant with EMERGENCY role
-        Integer feeAmount = match.getEmergencyFee() != null ? match.getEmergencyFee() : match.getFeePerPerson();
+        try {
+            emergencyRequestRepository.saveAndFlush(request);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new MvpException(MvpError.EMERGENCY_ALREADY_PROCESSED);
+        }
 
-        MatchParticipant participant = MatchParticipant.builder()
-            .matchId(matchId)
-            .userId(request.getUserId())
-            .role(ParticipantRole.EMERGENCY)
-            .status(ParticipantStatus.CONFIRMED)
-            .feeAmount(feeAmount)
-            .paymentStatus(PaymentStatus.UNPAID)
-            .build();
+        Integer feeAmount = match.feeFor(ParticipantRole.EMERGENCY);
+
+        MatchParticipant participant;
+        MatchCounterDelta before;
+        if (existingParticipant.isPresent()) {
+            // Reuse the backed-out row (uq_match_user allows one row per user and match)
+            participant = existingParticipant.get();
+            before = MatchCounterDelta.of(participant);
+            participant.setRole(ParticipantRole.EMERGENCY);
+            participant.setStatus(ParticipantStatus.CONFIRMED);
+            if (participant.getPaymentStatus() != PaymentStatus.PAID) {
+                participant.setFeeAmount(feeAmount);
+            }
+        } else {
+            // Create participant with EMERGENCY role
+            participant = MatchParticipant.builder()
+                .matchId(matchId)
+                .userId(request.getUserId())
+                .role(ParticipantRole.EMERGENCY)
+                .status(ParticipantStatus.CONFIRMED)
+                .feeAmount(feeAmount)
+                .paymentStatus(PaymentStatus.UNPAID)
+                .build();
+            before = MatchCounterDelta.ZERO;
+        }
 
         participantRepository.save(participant);
+        matchCounterService.apply(matchId, MatchCounterDelta.of(participant).minus(before));
+        eventPublisher.publishEvent(
+            new MatchChangedEvent(matchId, MatchChangeType.EMERGENCY_APPROVED, request.getUserId()));
 
         log.info("Emergency request approved: matchId={}, userId={}, requestId={}",
             matchId, request.getUserId(), requestId);
@@ -157,32 +280,18 @@ public class EmergencyServiceImpl implements EmergencyService {
             throw new MvpException(MvpError.EMERGENCY_ALREADY_PROCESSED);
         }
 
-        // Reject request
+        // Reject request; the version check fails if an approval or expiry changed the row since it was read
         request.setStatus(EmergencyRequestStatus.REJECTED);
         request.setRejectedAt(OffsetDateTime.now());
-        emergencyRequestRepository.save(request);
+        try {
+            emergencyRequestRepository.saveAndFlush(request);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new MvpException(MvpError.EMERGENCY_ALREADY_PROCESSED);
+        }
+        eventPublisher.publishEvent(
+            new MatchChangedEvent(matchId, MatchChangeType.EMERGENCY_REJECTED, request.getUserId()));
 
         log.info("Emergency request rejected: matchId={}, userId={}, requestId={}",
             matchId, request.getUserId(), requestId);
     }
-
-    private EmergencyRequestDto mapToDto(EmergencyRequest request) {
-        MvpUser user = mvpUserRepository.findById(request.getUserId())
-            .orElse(null);
-
-        EmergencyPool pool = emergencyPoolRepository.findByUserId(request.getUserId())
-            .orElse(null);
-
-        return EmergencyRequestDto.builder()
-            .requestId(request.getId())
-            .userId(request.getUserId())
-            .userName(user != null ? user.getName() : "Unknown")
-            .phoneNumber(user != null ? user.getPhoneNumber() : null)
-            .area(pool != null ? pool.getArea() : (user != null ? user.getArea() : null))
-            .trustScore(pool != null ? pool.getTrustScore() : 0)
-            .status(request.getStatus())
-            .requestedAt(request.getRequestedAt())
-            .lockExpiresAt(request.getLockExpiresAt())
-            .build();
-    }
 }
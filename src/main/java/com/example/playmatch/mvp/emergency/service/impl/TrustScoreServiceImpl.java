@@ -0,0 +1,79 @@
+package com.example.playmatch.mvp.emergency.service.impl;
+
+import com.example.playmatch.mvp.backout.model.BackoutReason;
+import com.example.playmatch.mvp.emergency.event.TrustScoresChangedEvent;
+import com.example.playmatch.mvp.emergency.model.TrustScoreDelta;
+import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import com.example.playmatch.mvp.emergency.repository.TrustScoreBatchRepository;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrustScoreServiceImpl implements TrustScoreService {
+
+    private static final double SECONDS_PER_DAY = 86_400.0;
+
+    private final TrustScoreBatchRepository trustScoreBatchRepository;
+    private final EmergencyPoolRepository emergencyPoolRepository;
+    private final MatchParticipantRepository participantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Evidence loses half its weight every this many days
+    @Value("${app.mvp.trust.half-life-days:90}")
+    private double halfLifeDays;
+
+    @Override
+    @Transactional
+    public void recordBackout(Long userId, BackoutReason reason, OffsetDateTime at) {
+        if (reason.getTrustPenalty() <= 0) {
+            return;
+        }
+        apply(List.of(TrustScoreDelta.backedOut(userId, reason.getTrustPenalty(), at)));
+    }
+
+    @Override
+    @Transactional
+    public void recordAttendance(UUID matchId, OffsetDateTime at) {
+        List<TrustScoreDelta> deltas = participantRepository
+            .findAttendedUserIds(matchId).stream()
+            .map(userId -> TrustScoreDelta.attended(userId, at))
+            .collect(Collectors.toList());
+        apply(deltas);
+    }
+
+    @Override
+    @Transactional
+    public void apply(List<TrustScoreDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<TrustScoreDelta> sorted = deltas.stream()
+            .sorted(Comparator.comparingLong(TrustScoreDelta::userId))
+            .collect(Collectors.toList());
+        trustScoreBatchRepository.addAll(sorted, halfLifeDays * SECONDS_PER_DAY);
+
+        Set<Long> userIds = sorted.stream().map(TrustScoreDelta::userId).collect(Collectors.toSet());
+        int synced = emergencyPoolRepository.syncTrustScores(userIds);
+        if (synced > 0) {
+            eventPublisher.publishEvent(new TrustScoresChangedEvent(userIds));
+        }
+        log.debug("Trust evidence applied: deltas={}, users={}, poolMembers={}",
+            sorted.size(), userIds.size(), synced);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.playmatch.mvp.invites.cache;
+
+import java.util.UUID;
+
+/**
+ * Pre-serialized invite landing response: JSON bytes, optional gzip variant and an ETag
+ *
+ * @param matchId Match the invite belongs to (for invalidation)
+ * @param json    Serialized InviteResponseDto
+ * @param gzip    Gzip-compressed json, or null when compression would not make it smaller
+ * @param etag    Weak ETag of the JSON representation (shared by both encodings)
+ */
+public record InvitePayload(UUID matchId, byte[] json, byte[] gzip, String etag) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
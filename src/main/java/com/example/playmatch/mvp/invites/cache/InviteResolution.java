@@ -0,0 +1,21 @@
+package com.example.playmatch.mvp.invites.cache;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+
+/**
+ * Cached outcome of resolving an invite token: either the pre-serialized payload or the error to raise
+ */
+public record InviteResolution(InvitePayload payload, MvpError error) {
+
+    public static InviteResolution found(InvitePayload payload) {
+        return new InviteResolution(payload, null);
+    }
+
+    public static InviteResolution failed(MvpError error) {
+        return new InviteResolution(null, error);
+    }
+
+    public boolean isFound() {
+        return payload != null;
+    }
+}
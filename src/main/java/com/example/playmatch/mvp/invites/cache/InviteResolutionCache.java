@@ -0,0 +1,136 @@
+package com.example.playmatch.mvp.invites.cache;
+
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Near-cache of invite token resolutions for the public invite endpoint, holding pre-serialized payloads.
+ * Resolved invites live for the positive TTL. Unknown or expired tokens go to a separate, smaller
+ * cache with a much shorter TTL, so token scanning does not reach Postgres and cannot push
+ * resolved invites out.
+ * A token is indexed under its match only after the loader has read the database, so a match change
+ * committing during a load could miss it; such loads are served once and not kept (see {@link #get}).
+ */
+@Component
+@Slf4j
+public class InviteResolutionCache {
+
+    private final Cache<String, InviteResolution> resolved;
+    private final Cache<String, InviteResolution> missing;
+    // Tokens of cached resolved invites per match, for invalidation on match changes
+    private final Map<UUID, Set<String>> tokensByMatch = new ConcurrentHashMap<>();
+    // Sequence number of the latest change per recently changed match; only needs to outlive a load
+    private final Cache<UUID, Long> recentChanges = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(1))
+        .build();
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    public InviteResolutionCache(
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.cache.invites.max-size:20000}") long maxSize,
+        @Value("${app.mvp.cache.invites.ttl-minutes:10}") long ttlMinutes,
+        @Value("${app.mvp.cache.invites.negative-max-size:5000}") long negativeMaxSize,
+        @Value("${app.mvp.cache.invites.negative-ttl-seconds:30}") long negativeTtlSeconds
+    ) {
+        this.resolved = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            // Runs atomically with the eviction, so a reload of the same token is indexed after it
+            .evictionListener((String token, InviteResolution resolution, RemovalCause cause) -> {
+                if (resolution != null) {
+                    unindex(resolution.payload().matchId(), token);
+                }
+            })
+            .recordStats()
+            .build();
+
+        this.missing = Caffeine.newBuilder()
+            .maximumSize(negativeMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, resolved, "mvp.invite.resolution");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "mvp.invite.resolution.negative");
+    }
+
+    public InviteResolution get(String token, Function<String, InviteResolution> loader) {
+        InviteResolution failed = missing.getIfPresent(token);
+        if (failed != null) {
+            return failed;
+        }
+
+        long sequenceBeforeLoad = changeSequence.get();
+        boolean[] changedDuringLoad = new boolean[1];
+        InviteResolution[] loadedFailure = new InviteResolution[1];
+        InviteResolution found = resolved.get(token, t -> {
+            InviteResolution resolution = loader.apply(t);
+            if (!resolution.isFound()) {
+                // Not stored in the positive cache (a null result leaves no entry)
+                missing.put(t, resolution);
+                loadedFailure[0] = resolution;
+                return null;
+            }
+            UUID matchId = resolution.payload().matchId();
+            tokensByMatch.computeIfAbsent(matchId, id -> ConcurrentHashMap.newKeySet()).add(t);
+            // onMatchChanged records the change before dropping tokens, so a change whose drop ran
+            // before the token was indexed above is visible here
+            Long lastChange = recentChanges.getIfPresent(matchId);
+            changedDuringLoad[0] = lastChange != null && lastChange > sequenceBeforeLoad;
+            return resolution;
+        });
+        if (found != null) {
+            if (changedDuringLoad[0]) {
+                // The payload may predate a change whose invalidation missed it; serve it, don't keep it
+                resolved.invalidate(token);
+            }
+            return found;
+        }
+        // Another thread loaded the failure while this one waited on the same token
+        return loadedFailure[0] != null ? loadedFailure[0] : get(token, loader);
+    }
+
+    public void invalidate(String token) {
+        resolved.invalidate(token);
+        missing.invalidate(token);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        // Any committed change to the match row or its roster drops the match's payloads
+        if (!event.type().isRosterChange()) {
+            return;
+        }
+        recentChanges.put(event.matchId(), changeSequence.incrementAndGet());
+        Set<String> tokens = tokensByMatch.remove(event.matchId());
+        if (tokens != null) {
+            resolved.invalidateAll(tokens);
+            log.debug("Invite resolutions invalidated: matchId={}, change={}, tokens={}",
+                event.matchId(), event.type(), tokens.size());
+        }
+    }
+
+    private void unindex(UUID matchId, String token) {
+        tokensByMatch.computeIfPresent(matchId, (id, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+}
@@ -1,16 +1,16 @@
 package com.example.playmatch.mvp.invites.controller;
 
-import com.example.playmatch.mvp.invites.dto.InviteResponseDto;
-import com.example.playmatch.mvp.invites.model.MatchInvite;
+import com.example.playmatch.mvp.invites.cache.InvitePayload;
 import com.example.playmatch.mvp.invites.service.InviteService;
-import com.example.playmatch.mvp.matches.model.Match;
-import com.example.playmatch.mvp.matches.repository.MatchRepository;
-import com.example.playmatch.mvp.common.error.MvpError;
-import com.example.playmatch.mvp.common.exception.MvpException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/v2/mvp/invites")
@@ -19,44 +19,54 @@ import org.springframework.web.bind.annotation.*;
 public class InviteController {
 
     private final InviteService inviteService;
-    private final MatchRepository matchRepository;
 
+    /**
+     * Writes the cached, pre-serialized InviteResponseDto as-is (no per-request Jackson work)
+     */
     @GetMapping("/{token}")
-    public ResponseEntity<InviteResponseDto> resolveInvite(@PathVariable String token) {
+    public ResponseEntity<byte[]> resolveInvite(
+        @PathVariable String token,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
+    ) {
         log.info("Resolving invite token: {}", token);
 
-        // Validate token is not null or empty
-        if (token == null || token.trim().isEmpty()) {
-            throw new MvpException(MvpError.INVITE_NOT_FOUND);
+        InvitePayload payload = inviteService.resolveInvitePayload(token);
+        if (webRequest.checkNotModified(payload.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(payload.etag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
         }
 
-        MatchInvite invite = inviteService.resolveInvite(token);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(payload.etag())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
 
-        // Validate invite has matchId
-        if (invite.getMatchId() == null) {
-            log.error("Invite has null matchId: token={}", token);
-            throw new MvpException(MvpError.MATCH_NOT_FOUND);
+        if (payload.hasGzip() && acceptsGzip(acceptEncoding)) {
+            return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentLength(payload.gzip().length)
+                .body(payload.gzip());
         }
+        return response
+            .contentLength(payload.json().length)
+            .body(payload.json());
+    }
 
-        Match match = matchRepository.findById(invite.getMatchId())
-            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
-
-        InviteResponseDto.InviteResponseDtoBuilder responseBuilder = InviteResponseDto.builder()
-            .matchId(match.getId())
-            .inviteType(invite.getType())
-            .teamName(match.getTeamName() != null ? match.getTeamName() : "Unknown Team")
-            .eventType(match.getEventType())
-            .ballCategory(match.getBallCategory())
-            .ballVariant(match.getBallVariant())
-            .overs(match.getOvers())
-            .groundMapsUrl(match.getGroundMapsUrl())
-            .startTime(match.getStartTime())
-            .requiresAuth(false); // Invite resolution doesn't require auth
-
-        if (invite.getType() == com.example.playmatch.mvp.invites.model.InviteType.TEAM) {
-            responseBuilder.matchFees(match.getFeePerPerson() != null ? match.getFeePerPerson() : 0);
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
         }
-
-        return ResponseEntity.ok(responseBuilder.build());
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // Honour an explicit q=0 refusal
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,29 @@
+package com.example.playmatch.mvp.invites.controller;
+
+import com.example.playmatch.mvp.auth.security.CurrentMvpUser;
+import com.example.playmatch.mvp.invites.dto.InviteFunnelDto;
+import com.example.playmatch.mvp.invites.service.InviteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v2/mvp/matches/{matchId}/invites")
+@RequiredArgsConstructor
+@Slf4j
+public class InviteFunnelController {
+
+    private final InviteService inviteService;
+
+    @GetMapping("/funnel")
+    public ResponseEntity<InviteFunnelDto> getInviteFunnel(@PathVariable UUID matchId) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Get invite funnel: matchId={}, captainId={}", matchId, captainId);
+
+        InviteFunnelDto funnel = inviteService.getInviteFunnel(matchId, captainId);
+        return ResponseEntity.ok(funnel);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.playmatch.mvp.invites.dto;
+
+import com.example.playmatch.mvp.invites.model.InviteType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InviteFunnelDto {
+    private UUID matchId;
+    private Long totalOpens;
+    private Long totalYes;
+    private Long totalNo;
+    private List<InviteFunnelEntryDto> invites;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InviteFunnelEntryDto {
+        private String inviteToken;
+        private InviteType inviteType;
+        private Long opens;
+        private Long yes;
+        private Long no;
+        // YES responses per open, null when the invite has not been opened
+        private Double conversionRate;
+    }
+}
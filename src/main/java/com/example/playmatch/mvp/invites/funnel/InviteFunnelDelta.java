@@ -0,0 +1,13 @@
+package com.example.playmatch.mvp.invites.funnel;
+
+import java.util.UUID;
+
+/**
+ * Funnel counts accumulated for one invite token since the last flush
+ */
+public record InviteFunnelDelta(String inviteToken, UUID matchId, long opens, long yes, long no) {
+
+    public boolean isZero() {
+        return opens == 0 && yes == 0 && no == 0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.playmatch.mvp.invites.funnel;
+
+import com.example.playmatch.mvp.invites.repository.InviteFunnelBatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory invite funnel counters (opens, YES and NO responses per token).
+ * Recording is a striped LongAdder increment with no I/O; deltas are flushed to
+ * invite_funnel_stats in periodic batched upserts. Counts are best-effort analytics:
+ * increments racing an idle-entry removal, or pending at a hard crash, may be lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InviteFunnelRecorder {
+
+    private final InviteFunnelBatchRepository inviteFunnelBatchRepository;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public void recordOpen(String token, UUID matchId) {
+        counters(token, matchId).opens.increment();
+    }
+
+    public void recordResponse(String token, UUID matchId, boolean yes) {
+        Counters c = counters(token, matchId);
+        if (yes) {
+            c.yes.increment();
+        } else {
+            c.no.increment();
+        }
+    }
+
+    /**
+     * Counts recorded on this pod that have not been flushed yet, for the given match
+     */
+    public List<InviteFunnelDelta> pending(UUID matchId) {
+        List<InviteFunnelDelta> pending = new ArrayList<>();
+        counters.forEach((token, c) -> {
+            if (c.matchId.equals(matchId)) {
+                pending.add(new InviteFunnelDelta(token, matchId, c.opens.sum(), c.yes.sum(), c.no.sum()));
+            }
+        });
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mvp.invite.funnel-flush-ms:30000}")
+    public void flush() {
+        List<InviteFunnelDelta> deltas = new ArrayList<>();
+        counters.forEach((token, c) -> {
+            InviteFunnelDelta delta = new InviteFunnelDelta(
+                token, c.matchId, c.opens.sumThenReset(), c.yes.sumThenReset(), c.no.sumThenReset());
+            if (delta.isZero()) {
+                // Idle since the last flush
+                counters.remove(token, c);
+            } else {
+                deltas.add(delta);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            inviteFunnelBatchRepository.addAll(deltas);
+            log.debug("Flushed invite funnel counters for {} token(s)", deltas.size());
+        } catch (RuntimeException e) {
+            // Put the counts back so the next flush retries them
+            deltas.forEach(this::restore);
+            log.warn("Failed to flush invite funnel counters for {} token(s)", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void restore(InviteFunnelDelta delta) {
+        Counters c = counters(delta.inviteToken(), delta.matchId());
+        c.opens.add(delta.opens());
+        c.yes.add(delta.yes());
+        c.no.add(delta.no());
+    }
+
+    private Counters counters(String token, UUID matchId) {
+        return counters.computeIfAbsent(token, t -> new Counters(matchId));
+    }
+
+    private static final class Counters {
+        private final UUID matchId;
+        private final LongAdder opens = new LongAdder();
+        private final LongAdder yes = new LongAdder();
+        private final LongAdder no = new LongAdder();
+
+        private Counters(UUID matchId) {
+            this.matchId = matchId;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.playmatch.mvp.invites.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Aggregated invite funnel counters, one row per invite token.
+ * Written only by batched upserts from InviteFunnelRecorder.
+ */
+@Entity
+@Table(name = "invite_funnel_stats",
+        indexes = @Index(name = "idx_invite_funnel_match", columnList = "match_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InviteFunnelStats {
+    @Id
+    @Column(name = "invite_token", length = 8)
+    private String inviteToken;
+
+    @Column(name = "match_id", nullable = false)
+    private UUID matchId;
+
+    @Column(name = "open_count", nullable = false)
+    private Long openCount;
+
+    @Column(name = "yes_count", nullable = false)
+    private Long yesCount;
+
+    @Column(name = "no_count", nullable = false)
+    private Long noCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,51 @@
+package com.example.playmatch.mvp.invites.repository;
+
+import com.example.playmatch.mvp.invites.funnel.InviteFunnelDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Batched additive upserts into invite_funnel_stats
+ */
+@Repository
+@RequiredArgsConstructor
+public class InviteFunnelBatchRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO invite_funnel_stats (invite_token, match_id, open_count, yes_count, no_count, updated_at)
+        VALUES (?, ?, ?, ?, ?, now())
+        ON CONFLICT (invite_token) DO UPDATE SET
+            open_count = invite_funnel_stats.open_count + EXCLUDED.open_count,
+            yes_count = invite_funnel_stats.yes_count + EXCLUDED.yes_count,
+            no_count = invite_funnel_stats.no_count + EXCLUDED.no_count,
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final int BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add all deltas in one transaction, so a failed flush leaves nothing applied and can be retried whole.
+     * Rows are written in token order so that flushes from several pods take row locks in the same order.
+     */
+    @Transactional
+    public void addAll(List<InviteFunnelDelta> deltas) {
+        List<InviteFunnelDelta> sorted = deltas.stream()
+            .sorted(Comparator.comparing(InviteFunnelDelta::inviteToken))
+            .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, sorted, BATCH_SIZE, (ps, delta) -> {
+            ps.setString(1, delta.inviteToken());
+            ps.setObject(2, delta.matchId());
+            ps.setLong(3, delta.opens());
+            ps.setLong(4, delta.yes());
+            ps.setLong(5, delta.no());
+        });
+    }
+}
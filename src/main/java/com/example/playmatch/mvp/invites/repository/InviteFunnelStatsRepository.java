@@ -0,0 +1,13 @@
+package com.example.playmatch.mvp.invites.repository;
+
+import com.example.playmatch.mvp.invites.model.InviteFunnelStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InviteFunnelStatsRepository extends JpaRepository<InviteFunnelStats, String> {
+    List<InviteFunnelStats> findByMatchId(UUID matchId);
+}
@@ -0,0 +1,42 @@
+package com.example.playmatch.mvp.invites.repository;
+
+import com.example.playmatch.mvp.invites.model.MatchInvite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for match_invite.
+ * MatchInvite uses IDENTITY ids, which forces Hibernate to insert row by row; generated ids are not read back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchInviteBatchRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO match_invite (invite_token, match_id, type, expires_at, created_at)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<MatchInvite> invites) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, invites, BATCH_SIZE, (ps, invite) -> {
+            ps.setString(1, invite.getInviteToken());
+            ps.setObject(2, invite.getMatchId());
+            ps.setString(3, invite.getType().name());
+            if (invite.getExpiresAt() != null) {
+                ps.setTimestamp(4, Timestamp.from(invite.getExpiresAt().toInstant()));
+            } else {
+                ps.setNull(4, Types.TIMESTAMP_WITH_TIMEZONE);
+            }
+            ps.setTimestamp(5, Timestamp.from(invite.getCreatedAt().toInstant()));
+        });
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.playmatch.mvp.invites.service;
 
+import com.example.playmatch.mvp.invites.cache.InvitePayload;
+import com.example.playmatch.mvp.invites.dto.InviteFunnelDto;
 import com.example.playmatch.mvp.invites.model.InviteType;
 import com.example.playmatch.mvp.invites.model.MatchInvite;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface InviteService {
@@ -15,6 +18,15 @@ public interface InviteService {
      */
     MatchInvite createInvite(UUID matchId, InviteType inviteType);
 
+    /**
+     * Create one invite of the given type for each match, as a single JDBC batch
+     *
+     * @param matchIds   Match IDs
+     * @param inviteType Type of invite (TEAM or EMERGENCY)
+     * @return Created invites in matchIds order (ids are not populated)
+     */
+    List<MatchInvite> createInvites(List<UUID> matchIds, InviteType inviteType);
+
     /**
      * Resolve invite by token
      *
@@ -23,6 +35,33 @@ public interface InviteService {
      */
     MatchInvite resolveInvite(String token);
 
+    /**
+     * Resolve invite token to the pre-serialized public invite view (cached, including unknown tokens).
+     * The payload is rebuilt on the first hit after the match changes.
+     *
+     * @param token Invite token
+     * @return Serialized InviteResponseDto with gzip variant and ETag
+     */
+    InvitePayload resolveInvitePayload(String token);
+
+    /**
+     * Count a match response against the invite it came from (no-op for unknown or foreign tokens)
+     *
+     * @param token   Invite token supplied by the client, may be null
+     * @param matchId Match responded to
+     * @param yes     Whether the response was YES
+     */
+    void recordInviteResponse(String token, UUID matchId, boolean yes);
+
+    /**
+     * Get the open/respond funnel for every invite of a match (captain only)
+     *
+     * @param matchId   Match ID
+     * @param captainId Captain user ID
+     * @return Per-invite and total funnel counts
+     */
+    InviteFunnelDto getInviteFunnel(UUID matchId, Long captainId);
+
     /**
      * Build full invite URL
      *
@@ -2,50 +2,170 @@ package com.example.playmatch.mvp.invites.service;
 
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
-import com.example.playmatch.mvp.invites.repository.MatchInviteRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
-import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Collision-free invite tokens without uniqueness queries.
+ * Ids come from the invite_token_seq sequence in blocks of BLOCK_SIZE and are mapped onto the
+ * 36^8 token space by a keyed Feistel permutation (HMAC-SHA256 rounds, cycle-walking), so distinct
+ * ids always give distinct tokens and tokens cannot be enumerated without the key.
+ * The key must never change once tokens have been issued.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class InviteTokenGenerator {
 
     private static final String CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final int TOKEN_LENGTH = 8;
-    private static final int MAX_RETRIES = 3;
+    private static final long TOKEN_SPACE = pow(CHARS.length(), TOKEN_LENGTH);
 
-    private final MatchInviteRepository matchInviteRepository;
-    private final SecureRandom secureRandom = new SecureRandom();
+    // Smallest even bit width covering TOKEN_SPACE (36^8 < 2^42), split into two 21-bit halves
+    private static final int HALF_BITS = 21;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 8;
+
+    // Must match the sequence INCREMENT BY
+    private static final int BLOCK_SIZE = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadLocal<Mac> roundFunction;
+
+    private long nextId;
+    private long blockEnd;
+
+    public InviteTokenGenerator(
+        JdbcTemplate jdbcTemplate,
+        @Value("${app.mvp.invite.token-key}") String tokenKey
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        SecretKeySpec key = new SecretKeySpec(tokenKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.roundFunction = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    /**
+     * Create invite_token_seq if missing. Runs during bean initialisation, before the web server
+     * accepts requests and outside any transaction, so the DDL is autocommitted on its own
+     * connection instead of riding (and possibly rolling back with) a caller's transaction.
+     */
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS invite_token_seq START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+    }
 
     /**
      * Generate a unique 8-character uppercase alphanumeric invite token
-     * Retries up to MAX_RETRIES times if collision occurs
      *
      * @return Unique invite token
-     * @throws MvpException if unable to generate unique token after retries
+     * @throws MvpException if the token space is exhausted
      */
     public String generate() {
-        for (int attempt = 0; attempt < MAX_RETRIES; attempt++) {
-            String token = secureRandom.ints(TOKEN_LENGTH, 0, CHARS.length())
-                .mapToObj(CHARS::charAt)
-                .map(String::valueOf)
-                .collect(Collectors.joining());
-
-            // Check uniqueness
-            if (!matchInviteRepository.existsByInviteToken(token)) {
-                log.debug("Generated unique invite token: {} (attempt {})", token, attempt + 1);
-                return token;
+        return encode(permute(nextIds(1)[0]));
+    }
+
+    /**
+     * Generate count unique invite tokens, reserving ids in as few sequence calls as possible
+     *
+     * @param count Number of tokens
+     * @return Unique invite tokens
+     * @throws MvpException if the token space is exhausted
+     */
+    public List<String> generate(int count) {
+        long[] ids = nextIds(count);
+        List<String> tokens = new ArrayList<>(count);
+        for (long id : ids) {
+            tokens.add(encode(permute(id)));
+        }
+        return tokens;
+    }
+
+    private synchronized long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (nextId >= blockEnd) {
+                allocateBlock();
             }
+            ids[i] = nextId++;
+        }
+        return ids;
+    }
 
-            log.warn("Invite token collision detected: {} (attempt {})", token, attempt + 1);
+    private void allocateBlock() {
+        // nextval is not transactional: a rolled-back caller only skips the rest of its block
+        Long blockStart = jdbcTemplate.queryForObject("SELECT nextval('invite_token_seq')", Long.class);
+        if (blockStart == null || blockStart + BLOCK_SIZE > TOKEN_SPACE) {
+            throw new MvpException(MvpError.INVITE_GENERATION_FAILED, "Invite token space exhausted");
         }
 
-        throw new MvpException(MvpError.INVITE_GENERATION_FAILED,
-            "Failed to generate unique invite token after " + MAX_RETRIES + " attempts");
+        nextId = blockStart;
+        blockEnd = blockStart + BLOCK_SIZE;
+        log.debug("Allocated invite token id block [{}, {})", nextId, blockEnd);
+    }
+
+    /**
+     * Keyed bijection on [0, TOKEN_SPACE): Feistel network over 42 bits, cycle-walked back into range
+     */
+    private long permute(long id) {
+        long value = id;
+        do {
+            value = feistel(value);
+        } while (value >= TOKEN_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = (value >>> HALF_BITS) & HALF_MASK;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ round(round, right);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long round(int round, long half) {
+        Mac mac = roundFunction.get();
+        byte[] digest = mac.doFinal(ByteBuffer.allocate(Integer.BYTES + Long.BYTES)
+            .putInt(round)
+            .putLong(half)
+            .array());
+        return ByteBuffer.wrap(digest).getLong() & HALF_MASK;
+    }
+
+    private static String encode(long value) {
+        char[] token = new char[TOKEN_LENGTH];
+        for (int i = TOKEN_LENGTH - 1; i >= 0; i--) {
+            token[i] = CHARS.charAt((int) (value % CHARS.length()));
+            value /= CHARS.length();
+        }
+        return new String(token);
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
     }
 }
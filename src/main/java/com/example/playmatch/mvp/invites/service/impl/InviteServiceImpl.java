@@ -2,26 +2,60 @@ package com.example.playmatch.mvp.invites.service.impl;
 
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.invites.cache.InvitePayload;
+import com.example.playmatch.mvp.invites.cache.InviteResolution;
+import com.example.playmatch.mvp.invites.cache.InviteResolutionCache;
+import com.example.playmatch.mvp.invites.dto.InviteFunnelDto;
+import com.example.playmatch.mvp.invites.dto.InviteResponseDto;
+import com.example.playmatch.mvp.invites.funnel.InviteFunnelDelta;
+import com.example.playmatch.mvp.invites.funnel.InviteFunnelRecorder;
+import com.example.playmatch.mvp.invites.model.InviteFunnelStats;
 import com.example.playmatch.mvp.invites.model.InviteType;
 import com.example.playmatch.mvp.invites.model.MatchInvite;
+import com.example.playmatch.mvp.invites.repository.MatchInviteBatchRepository;
+import com.example.playmatch.mvp.invites.repository.InviteFunnelStatsRepository;
 import com.example.playmatch.mvp.invites.repository.MatchInviteRepository;
 import com.example.playmatch.mvp.invites.service.InviteService;
 import com.example.playmatch.mvp.invites.service.InviteTokenGenerator;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InviteServiceImpl implements InviteService {
 
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("^[A-Z0-9]{8}$");
+
     private final MatchInviteRepository matchInviteRepository;
+    private final MatchInviteBatchRepository matchInviteBatchRepository;
     private final InviteTokenGenerator inviteTokenGenerator;
+    private final InviteResolutionCache inviteResolutionCache;
+    private final MatchRepository matchRepository;
+    private final ObjectMapper objectMapper;
+    private final InviteFunnelRecorder inviteFunnelRecorder;
+    private final InviteFunnelStatsRepository inviteFunnelStatsRepository;
 
     @Value("${app.mvp.invite-base-url}")
     private String inviteBaseUrl;
@@ -40,11 +74,38 @@ public class InviteServiceImpl implements InviteService {
             .build();
 
         MatchInvite saved = matchInviteRepository.save(invite);
+        // Drop any negative entry left by an earlier probe of this token
+        inviteResolutionCache.invalidate(token);
         log.info("Created {} invite for match {}: token={}", inviteType, matchId, token);
 
         return saved;
     }
 
+    @Override
+    @Transactional
+    public List<MatchInvite> createInvites(List<UUID> matchIds, InviteType inviteType) {
+        List<String> tokens = inviteTokenGenerator.generate(matchIds.size());
+        // Batch insert bypasses @PrePersist
+        OffsetDateTime now = OffsetDateTime.now();
+
+        List<MatchInvite> invites = new ArrayList<>(matchIds.size());
+        for (int i = 0; i < matchIds.size(); i++) {
+            invites.add(MatchInvite.builder()
+                .inviteToken(tokens.get(i))
+                .matchId(matchIds.get(i))
+                .type(inviteType)
+                .expiresAt(null)
+                .createdAt(now)
+                .build());
+        }
+
+        matchInviteBatchRepository.insertAll(invites);
+        tokens.forEach(inviteResolutionCache::invalidate);
+        log.info("Created {} {} invites in batch", invites.size(), inviteType);
+
+        return invites;
+    }
+
     @Override
     public MatchInvite resolveInvite(String token) {
         MatchInvite invite = matchInviteRepository.findByInviteToken(token)
@@ -61,6 +122,137 @@ public class InviteServiceImpl implements InviteService {
         return invite;
     }
 
+    @Override
+    public InvitePayload resolveInvitePayload(String token) {
+        // Reject malformed tokens before they can touch the cache or the database
+        if (token == null || !TOKEN_PATTERN.matcher(token).matches()) {
+            throw new MvpException(MvpError.INVITE_NOT_FOUND);
+        }
+
+        InviteResolution resolution = inviteResolutionCache.get(token, this::loadResolution);
+        if (!resolution.isFound()) {
+            throw new MvpException(resolution.error());
+        }
+        inviteFunnelRecorder.recordOpen(token, resolution.payload().matchId());
+        return resolution.payload();
+    }
+
+    @Override
+    public void recordInviteResponse(String token, UUID matchId, boolean yes) {
+        if (token == null || !TOKEN_PATTERN.matcher(token).matches()) {
+            return;
+        }
+        // Normally a cache hit: the client resolved this token just before responding
+        InviteResolution resolution = inviteResolutionCache.get(token, this::loadResolution);
+        if (resolution.isFound() && matchId.equals(resolution.payload().matchId())) {
+            inviteFunnelRecorder.recordResponse(token, matchId, yes);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InviteFunnelDto getInviteFunnel(UUID matchId, Long captainId) {
+        Match match = matchRepository.findById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+        if (!match.isCaptain(captainId)) {
+            throw new MvpException(MvpError.NOT_CAPTAIN);
+        }
+
+        Map<String, InviteFunnelStats> flushed = inviteFunnelStatsRepository.findByMatchId(matchId).stream()
+            .collect(Collectors.toMap(InviteFunnelStats::getInviteToken, Function.identity()));
+        // Fold in counts this pod has not flushed yet
+        Map<String, InviteFunnelDelta> pending = inviteFunnelRecorder.pending(matchId).stream()
+            .collect(Collectors.toMap(InviteFunnelDelta::inviteToken, Function.identity()));
+
+        List<InviteFunnelDto.InviteFunnelEntryDto> entries = matchInviteRepository.findByMatchId(matchId).stream()
+            .map(invite -> {
+                InviteFunnelStats stats = flushed.get(invite.getInviteToken());
+                InviteFunnelDelta delta = pending.get(invite.getInviteToken());
+                long opens = (stats != null ? stats.getOpenCount() : 0) + (delta != null ? delta.opens() : 0);
+                long yes = (stats != null ? stats.getYesCount() : 0) + (delta != null ? delta.yes() : 0);
+                long no = (stats != null ? stats.getNoCount() : 0) + (delta != null ? delta.no() : 0);
+                return InviteFunnelDto.InviteFunnelEntryDto.builder()
+                    .inviteToken(invite.getInviteToken())
+                    .inviteType(invite.getType())
+                    .opens(opens)
+                    .yes(yes)
+                    .no(no)
+                    .conversionRate(opens > 0 ? (double) yes / opens : null)
+                    .build();
+            })
+            .collect(Collectors.toList());
+
+        return InviteFunnelDto.builder()
+            .matchId(matchId)
+            .totalOpens(entries.stream().mapToLong(InviteFunnelDto.InviteFunnelEntryDto::getOpens).sum())
+            .totalYes(entries.stream().mapToLong(InviteFunnelDto.InviteFunnelEntryDto::getYes).sum())
+            .totalNo(entries.stream().mapToLong(InviteFunnelDto.InviteFunnelEntryDto::getNo).sum())
+            .invites(entries)
+            .build();
+    }
+
+    private InviteResolution loadResolution(String token) {
+        Optional<MatchInvite> found = matchInviteRepository.findByInviteToken(token);
+        if (found.isEmpty()) {
+            return InviteResolution.failed(MvpError.INVITE_NOT_FOUND);
+        }
+
+        MatchInvite invite = found.get();
+        if (invite.isExpired()) {
+            return InviteResolution.failed(MvpError.INVITE_EXPIRED);
+        }
+        if (invite.getMatchId() == null) {
+            log.error("Invite has null matchId: token={}", token);
+            return InviteResolution.failed(MvpError.MATCH_NOT_FOUND);
+        }
+
+        Optional<Match> match = matchRepository.findById(invite.getMatchId());
+        if (match.isEmpty()) {
+            return InviteResolution.failed(MvpError.MATCH_NOT_FOUND);
+        }
+
+        return InviteResolution.found(serialize(toResponseDto(invite, match.get())));
+    }
+
+    private InvitePayload serialize(InviteResponseDto dto) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dto);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            // Tiny payloads can grow under gzip; serve identity encoding then
+            byte[] gzipped = compressed.size() < json.length ? compressed.toByteArray() : null;
+
+            // Weak: the identity and gzip bodies share one tag
+            String etag = "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new InvitePayload(dto.getMatchId(), json, gzipped, etag);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize invite payload", e);
+        }
+    }
+
+    private InviteResponseDto toResponseDto(MatchInvite invite, Match match) {
+        InviteResponseDto.InviteResponseDtoBuilder responseBuilder = InviteResponseDto.builder()
+            .matchId(match.getId())
+            .inviteType(invite.getType())
+            .teamName(match.getTeamName() != null ? match.getTeamName() : "Unknown Team")
+            .eventType(match.getEventType())
+            .ballCategory(match.getBallCategory())
+            .ballVariant(match.getBallVariant())
+            .overs(match.getOvers())
+            .groundMapsUrl(match.getGroundMapsUrl())
+            .startTime(match.getStartTime())
+            .requiresAuth(false); // Invite resolution doesn't require auth
+
+        if (invite.getType() == InviteType.TEAM) {
+            responseBuilder.matchFees(match.getFeePerPerson() != null ? match.getFeePerPerson() : 0);
+        }
+
+        return responseBuilder.build();
+    }
+
     @Override
     public String buildInviteUrl(String token) {
         return inviteBaseUrl + "/" + token;
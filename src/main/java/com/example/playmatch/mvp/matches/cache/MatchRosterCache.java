@@ -0,0 +1,63 @@
+package com.example.playmatch.mvp.matches.cache;
+
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process cache of match roster snapshots for the match page.
+ * Entries are dropped after any committed match change; the TTL only bounds
+ * staleness for changes made on other pods.
+ */
+@Component
+@Slf4j
+public class MatchRosterCache {
+
+    private final Cache<UUID, MatchRosterSnapshot> cache;
+
+    public MatchRosterCache(
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.cache.roster.max-size:2000}") long maxSize,
+        @Value("${app.mvp.cache.roster.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under "mvp.match.roster"
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mvp.match.roster");
+    }
+
+    public MatchRosterSnapshot get(UUID matchId, Function<UUID, MatchRosterSnapshot> loader) {
+        return cache.get(matchId, loader);
+    }
+
+    public void invalidate(UUID matchId) {
+        cache.invalidate(matchId);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        if (!event.type().isRosterChange()) {
+            return;
+        }
+        invalidate(event.matchId());
+        log.debug("Roster snapshot invalidated: matchId={}, change={}", event.matchId(), event.type());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.playmatch.mvp.matches.cache;
+
+import com.example.playmatch.mvp.matches.model.BallCategory;
+import com.example.playmatch.mvp.matches.model.BallVariant;
+import com.example.playmatch.mvp.matches.model.EventType;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchParticipant;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.model.ParticipantStatus;
+import com.example.playmatch.mvp.matches.model.PaymentMode;
+import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.users.dto.UserContact;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable per-match roster view shared by all readers of a match page.
+ * Holds copies of the match and participant fields the match page needs, never the entities or
+ * response DTOs themselves; callers build a fresh response (captain or restricted view) per request.
+ *
+ * @param match        Match fields
+ * @param captain      Captain user, null if missing
+ * @param participants Full (captain-level) participant details
+ */
+public record MatchRosterSnapshot(
+    MatchFields match,
+    UserContact captain,
+    List<RosterEntry> participants
+) {
+
+    public MatchRosterSnapshot {
+        participants = List.copyOf(participants);
+    }
+
+    public record MatchFields(
+        UUID id,
+        Long createdBy,
+        String teamName,
+        EventType eventType,
+        BallCategory ballCategory,
+        BallVariant ballVariant,
+        String groundMapsUrl,
+        Double groundLat,
+        Double groundLng,
+        Integer overs,
+        Integer feePerPerson,
+        Integer emergencyFee,
+        Integer requiredPlayers,
+        Integer backupSlots,
+        Boolean emergencyEnabled,
+        Integer emergencySlots,
+        MatchStatus status,
+        OffsetDateTime startTime,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        Long rosterVersion,
+        Integer teamCount,
+        Integer backupCount,
+        Integer emergencyCount
+    ) {
+
+        public static MatchFields from(Match match) {
+            return new MatchFields(match.getId(), match.getCreatedBy(), match.getTeamName(),
+                match.getEventType(), match.getBallCategory(), match.getBallVariant(),
+                match.getGroundMapsUrl(), match.getGroundLat(), match.getGroundLng(), match.getOvers(),
+                match.getFeePerPerson(), match.getEmergencyFee(), match.getRequiredPlayers(),
+                match.getBackupSlots(), match.getEmergencyEnabled(), match.getEmergencySlots(),
+                match.getStatus(), match.getStartTime(), match.getCreatedAt(), match.getUpdatedAt(),
+                match.getRosterVersion(), match.getTeamCount(), match.getBackupCount(), match.getEmergencyCount());
+        }
+
+        public boolean isCaptain(Long userId) {
+            return createdBy.equals(userId);
+        }
+    }
+
+    public record RosterEntry(
+        Long userId,
+        String name,
+        String phoneNumber,
+        ParticipantRole role,
+        ParticipantStatus status,
+        Integer feeAmount,
+        PaymentStatus paymentStatus,
+        PaymentMode paymentMode
+    ) {
+
+        public static RosterEntry from(MatchParticipant participant, UserContact user) {
+            return new RosterEntry(
+                participant.getUserId(),
+                user != null ? user.name() : "Unknown",
+                user != null ? user.phoneNumber() : null,
+                participant.getRole(),
+                participant.getStatus(),
+                participant.getFeeAmount(),
+                participant.getPaymentStatus(),
+                participant.getPaymentMode());
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.example.playmatch.mvp.matches.controller;
 
 import com.example.playmatch.mvp.auth.security.CurrentMvpUser;
+import com.example.playmatch.mvp.invites.service.InviteService;
 import com.example.playmatch.mvp.matches.dto.CreateMatchDto;
+import com.example.playmatch.mvp.matches.dto.CreateMatchSeriesDto;
 import com.example.playmatch.mvp.matches.dto.MatchCreatedResponseDto;
 import com.example.playmatch.mvp.matches.dto.MatchRespondDto;
 import com.example.playmatch.mvp.matches.dto.MatchResponseDto;
+import com.example.playmatch.mvp.matches.dto.MatchSeriesCreatedResponseDto;
+import com.example.playmatch.mvp.matches.dto.MyGamesPageResponseDto;
 import com.example.playmatch.mvp.matches.dto.MyGamesResponseDto;
+import com.example.playmatch.mvp.matches.dto.NearbyMatchesResponseDto;
+import com.example.playmatch.mvp.matches.model.MyGamesScope;
 import com.example.playmatch.mvp.matches.service.MatchService;
+import com.example.playmatch.mvp.matches.stream.MatchEventStream;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -22,6 +34,8 @@ import java.util.UUID;
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchEventStream matchEventStream;
+    private final InviteService inviteService;
 
     @PostMapping
     public ResponseEntity<MatchCreatedResponseDto> createMatch(@Valid @RequestBody CreateMatchDto dto) {
@@ -32,17 +46,66 @@ public class MatchController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/series")
+    public ResponseEntity<MatchSeriesCreatedResponseDto> createMatchSeries(
+        @Valid @RequestBody CreateMatchSeriesDto dto
+    ) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Create match series request from captain: {}, occurrences={}", captainId, dto.getOccurrences());
+
+        MatchSeriesCreatedResponseDto response = matchService.createMatchSeries(dto, captainId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<NearbyMatchesResponseDto> getNearbyMatches(
+        @RequestParam double lat,
+        @RequestParam double lng,
+        @RequestParam(defaultValue = "10") double radiusKm,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        Long userId = CurrentMvpUser.getUserId();
+        log.info("Nearby matches request: userId={}, radiusKm={}", userId, radiusKm);
+
+        NearbyMatchesResponseDto response = matchService.getNearbyMatches(lat, lng, radiusKm, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/my-games")
-    public ResponseEntity<MyGamesResponseDto> getMyGames() {
+    public ResponseEntity<MyGamesResponseDto> getMyGames(WebRequest webRequest) {
         Long userId = CurrentMvpUser.getUserId();
         log.info("Get my games request: userId={}", userId);
 
+        String etag = matchService.getMyGamesVersionTag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
         MyGamesResponseDto response = matchService.getMyGames(userId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
+    }
+
+    @GetMapping("/my-games/page")
+    public ResponseEntity<MyGamesPageResponseDto> getMyGamesPage(
+        @RequestParam(defaultValue = "UPCOMING") MyGamesScope scope,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit,
+        WebRequest webRequest
+    ) {
+        Long userId = CurrentMvpUser.getUserId();
+        log.info("Get my games page request: userId={}, scope={}, limit={}", userId, scope, limit);
+
+        String etag = matchService.getMyGamesPageVersionTag(userId, scope, cursor, limit);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        MyGamesPageResponseDto response = matchService.getMyGamesPage(userId, scope, cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MatchResponseDto> getMatch(@PathVariable UUID id) {
+    public ResponseEntity<MatchResponseDto> getMatch(@PathVariable UUID id, WebRequest webRequest) {
         // Try to get current user ID, can be null for public view
         Long userId;
         try {
@@ -52,8 +115,24 @@ public class MatchController {
         }
 
         log.info("Get match request: matchId={}, userId={}", id, userId);
-        MatchResponseDto response = matchService.getMatch(id, userId);
-        return ResponseEntity.ok(response);
+
+        // Version stamp only; participants are not loaded when the client is up to date
+        String etag = matchService.getMatchVersionTag(id, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        // Body from a roster snapshot at least as new as the tag
+        MatchResponseDto response = matchService.getMatch(id, userId, etag);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(response);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatchEvents(@PathVariable UUID id) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Match event stream request: matchId={}, captainId={}", id, captainId);
+
+        return matchEventStream.subscribe(id, captainId);
     }
 
     @PostMapping("/{id}/respond")
@@ -64,11 +143,13 @@ public class MatchController {
         Long userId = CurrentMvpUser.getUserId();
         log.info("Match response: matchId={}, userId={}, response={}", id, userId, dto.getResponse());
 
-        if ("YES".equals(dto.getResponse())) {
+        boolean yes = "YES".equals(dto.getResponse());
+        if (yes) {
             matchService.respondYes(id, userId);
         } else {
             matchService.respondNo(id, userId);
         }
+        inviteService.recordInviteResponse(dto.getInviteToken(), id, yes);
 
         return ResponseEntity.noContent().build();
     }
@@ -90,4 +171,8 @@ public class MatchController {
         matchService.cancelMatch(id, captainId);
         return ResponseEntity.noContent().build();
     }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 }
@@ -55,6 +55,11 @@ public class CreateMatchDto {
     @Builder.Default
     private Boolean emergencyEnabled = false;
 
+    @NotNull(message = "Emergency slots must not be null")
+    @Min(value = 0, message = "Emergency slots must be non-negative")
+    @Builder.Default
+    private Integer emergencySlots = 2;
+
     @NotNull(message = "Start time is required")
     @Future(message = "Start time must be in the future")
     private OffsetDateTime startTime;
@@ -0,0 +1,31 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateMatchSeriesDto {
+    // Fixture details; startTime is the first occurrence
+    @NotNull(message = "Match template is required")
+    @Valid
+    private CreateMatchDto template;
+
+    @NotNull(message = "Occurrences is required")
+    @Min(value = 2, message = "A series needs at least 2 occurrences")
+    @Max(value = 26, message = "Occurrences must not exceed 26")
+    private Integer occurrences;
+
+    @Min(value = 1, message = "Interval must be at least 1 day")
+    @Max(value = 31, message = "Interval must not exceed 31 days")
+    @Builder.Default
+    private Integer intervalDays = 7;
+}
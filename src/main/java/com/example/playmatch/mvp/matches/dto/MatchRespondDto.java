@@ -13,4 +13,7 @@ public class MatchRespondDto {
     @NotNull(message = "Response is required")
     @Pattern(regexp = "^(YES|NO)$", message = "Response must be either YES or NO")
     private String response;
+
+    // Invite link the response came from, for funnel analytics (optional)
+    private String inviteToken;
 }
@@ -29,6 +29,7 @@ public class MatchResponseDto {
     private Integer requiredPlayers;
     private Integer backupSlots;
     private Boolean emergencyEnabled;
+    private Integer emergencySlots;
     private MatchStatus status;
     private OffsetDateTime startTime;
     private OffsetDateTime createdAt;
@@ -0,0 +1,19 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchSeriesCreatedResponseDto {
+    private UUID seriesId;
+    // Ordered by start time
+    private List<MatchCreatedResponseDto> matches;
+}
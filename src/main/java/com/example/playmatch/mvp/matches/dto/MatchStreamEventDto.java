@@ -0,0 +1,29 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchStreamEventDto {
+    private UUID matchId;
+    private MatchChangeType type;
+    private Long userId;
+    private OffsetDateTime occurredAt;
+
+    // Current counters after the change
+    private Integer teamCount;
+    private Integer backupCount;
+    private Integer emergencyCount;
+
+    // Affected participant row (null for emergency request events and match-level changes)
+    private MatchResponseDto.ParticipantDto participant;
+}
@@ -0,0 +1,29 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import com.example.playmatch.mvp.matches.model.MyGamesScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for paginated My Games endpoint
+ * Summary counts are only included on the first page (no cursor supplied)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyGamesPageResponseDto {
+    private MyGamesScope scope;
+    private List<MyGamesResponseDto.GameSummaryDto> games;
+    private String nextCursor;   // null when there are no more pages
+    private boolean hasMore;
+
+    private Integer totalCount;
+    private Integer upcomingCount;
+    private Integer completedCount;
+    private Integer cancelledCount;
+}
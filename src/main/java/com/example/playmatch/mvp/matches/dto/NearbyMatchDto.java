@@ -0,0 +1,36 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import com.example.playmatch.mvp.matches.model.BallCategory;
+import com.example.playmatch.mvp.matches.model.BallVariant;
+import com.example.playmatch.mvp.matches.model.EventType;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyMatchDto {
+    private UUID matchId;
+    private String teamName;
+    private EventType eventType;
+    private BallCategory ballCategory;
+    private BallVariant ballVariant;
+    private Integer overs;
+    private MatchStatus status;
+    private OffsetDateTime startTime;
+    private String groundMapsUrl;
+    private Double groundLat;
+    private Double groundLng;
+    private Integer emergencyFee;
+    private Integer requiredPlayers;
+    private Integer teamCount;
+    private Integer emergencyCount;
+    private Double distanceKm;
+}
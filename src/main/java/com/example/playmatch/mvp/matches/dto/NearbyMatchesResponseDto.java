@@ -0,0 +1,18 @@
+package com.example.playmatch.mvp.matches.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyMatchesResponseDto {
+    private Double radiusKm;
+    // Nearest first
+    private List<NearbyMatchDto> matches;
+}
@@ -0,0 +1,27 @@
+package com.example.playmatch.mvp.matches.event;
+
+public enum MatchChangeType {
+    MATCH_CREATED(true),
+    PARTICIPANT_JOINED(true),
+    PARTICIPANT_LEFT(true),
+    EMERGENCY_REQUESTED(false),
+    EMERGENCY_APPROVED(true),
+    EMERGENCY_REJECTED(false),
+    EMERGENCY_EXPIRED(false),
+    PAYMENT_MARKED(true),
+    MATCH_COMPLETED(true),
+    MATCH_CANCELLED(true);
+
+    private final boolean rosterChange;
+
+    MatchChangeType(boolean rosterChange) {
+        this.rosterChange = rosterChange;
+    }
+
+    /**
+     * Whether the change alters the match or its participant rows (as opposed to emergency requests only)
+     */
+    public boolean isRosterChange() {
+        return rosterChange;
+    }
+}
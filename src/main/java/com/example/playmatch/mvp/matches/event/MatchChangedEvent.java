@@ -0,0 +1,18 @@
+package com.example.playmatch.mvp.matches.event;
+
+import java.util.UUID;
+
+/**
+ * Published by services whenever match or roster state changes.
+ * Listeners react after the surrounding transaction commits.
+ *
+ * @param matchId Match that changed
+ * @param type    Kind of change
+ * @param userId  Affected user (null for match-level changes)
+ */
+public record MatchChangedEvent(UUID matchId, MatchChangeType type, Long userId) {
+
+    public static MatchChangedEvent of(UUID matchId, MatchChangeType type) {
+        return new MatchChangedEvent(matchId, type, null);
+    }
+}
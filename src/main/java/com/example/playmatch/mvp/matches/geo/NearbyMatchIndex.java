@@ -0,0 +1,168 @@
+package com.example.playmatch.mvp.matches.geo;
+
+import com.example.playmatch.mvp.common.util.GeoHash;
+import com.example.playmatch.mvp.matches.dto.NearbyMatchDto;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Geohash-cell cache of upcoming CREATED/ACTIVE matches that still have a free emergency slot.
+ * Each cell is loaded on demand with one range scan on match.ground_geohash and expires after a
+ * short TTL, which bounds staleness for changes made on other pods; committed changes on this pod
+ * drop the affected cell immediately.
+ */
+@Component
+@Slf4j
+public class NearbyMatchIndex {
+
+    /** Precision persisted in match.ground_geohash (~5 m cells) */
+    public static final int STORED_PRECISION = 9;
+    /** Precision of the cached cells (~39 x 20 km); a 50 km search covers a few dozen cells at most */
+    private static final int GRID_PRECISION = 4;
+    private static final Set<MatchStatus> OPEN_STATUSES = EnumSet.of(MatchStatus.CREATED, MatchStatus.ACTIVE);
+
+    private final MatchRepository matchRepository;
+    private final Cache<String, List<NearbyMatchDto>> cells;
+
+    public NearbyMatchIndex(
+        MatchRepository matchRepository,
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.nearby.max-cells:5000}") long maxCells,
+        @Value("${app.mvp.nearby.cell-ttl-seconds:60}") long cellTtlSeconds
+    ) {
+        this.matchRepository = matchRepository;
+        this.cells = Caffeine.newBuilder()
+            .maximumSize(maxCells)
+            .expireAfterWrite(Duration.ofSeconds(cellTtlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cells, "mvp.match.nearby");
+    }
+
+    /**
+     * Fill in ground_geohash for upcoming rows created before the column existed,
+     * so the cell range scans can find them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeohashes() {
+        List<Match> missing = matchRepository.findMissingGroundGeohash(OPEN_STATUSES, OffsetDateTime.now());
+        for (Match match : missing) {
+            matchRepository.setGroundGeohash(match.getId(),
+                GeoHash.encode(match.getGroundLat(), match.getGroundLng(), STORED_PRECISION));
+        }
+        if (!missing.isEmpty()) {
+            log.info("Backfilled ground geohash for {} upcoming match(es)", missing.size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        switch (event.type()) {
+            // May add the match to its cell (new match, or an emergency slot freed up)
+            case MATCH_CREATED, PARTICIPANT_LEFT -> matchRepository.findById(event.matchId())
+                .filter(match -> match.getGroundGeohash() != null)
+                .ifPresent(match -> cells.invalidate(match.getGroundGeohash().substring(0, GRID_PRECISION)));
+            // Can only change or drop a match that is already served from a cell
+            case PARTICIPANT_JOINED, EMERGENCY_APPROVED, MATCH_COMPLETED, MATCH_CANCELLED ->
+                invalidateCellOf(event.matchId());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Open matches within radiusKm of (lat, lng), nearest first
+     */
+    public List<NearbyMatchDto> findNearby(double lat, double lng, double radiusKm, int limit) {
+        Set<String> covering = GeoHash.coveringCells(lat, lng, radiusKm, GRID_PRECISION);
+        Map<String, List<NearbyMatchDto>> loaded = cells.getAll(covering, this::loadCells);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<NearbyMatchDto> results = new ArrayList<>();
+        for (List<NearbyMatchDto> cell : loaded.values()) {
+            for (NearbyMatchDto match : cell) {
+                // A cached cell may outlive a kick-off
+                if (!match.getStartTime().isAfter(now)) {
+                    continue;
+                }
+                double distance = GeoHash.distanceKm(lat, lng, match.getGroundLat(), match.getGroundLng());
+                if (distance <= radiusKm) {
+                    results.add(match.toBuilder()
+                        .distanceKm(Math.round(distance * 100) / 100.0)
+                        .build());
+                }
+            }
+        }
+
+        results.sort(Comparator.comparingDouble(NearbyMatchDto::getDistanceKm));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    private Map<String, List<NearbyMatchDto>> loadCells(Set<? extends String> missing) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, List<NearbyMatchDto>> loaded = new HashMap<>(missing.size() * 2);
+        for (String cell : missing) {
+            // Empty cells are cached too, so searches over open country stay off the database
+            loaded.put(cell, matchRepository.findNearbyCandidatesInRange(
+                    cell, GeoHash.prefixEnd(cell, STORED_PRECISION), OPEN_STATUSES, now)
+                .stream()
+                .map(this::toDto)
+                .toList());
+        }
+        log.debug("Loaded {} nearby cell(s)", missing.size());
+        return loaded;
+    }
+
+    private void invalidateCellOf(UUID matchId) {
+        cells.asMap().forEach((cell, matches) -> {
+            if (matches.stream().anyMatch(match -> match.getMatchId().equals(matchId))) {
+                cells.invalidate(cell);
+            }
+        });
+    }
+
+    private NearbyMatchDto toDto(Match match) {
+        return NearbyMatchDto.builder()
+            .matchId(match.getId())
+            .teamName(match.getTeamName())
+            .eventType(match.getEventType())
+            .ballCategory(match.getBallCategory())
+            .ballVariant(match.getBallVariant())
+            .overs(match.getOvers())
+            .status(match.getStatus())
+            .startTime(match.getStartTime())
+            .groundMapsUrl(match.getGroundMapsUrl())
+            .groundLat(match.getGroundLat())
+            .groundLng(match.getGroundLng())
+            .emergencyFee(match.getEmergencyFee())
+            .requiredPlayers(match.getRequiredPlayers())
+            .teamCount(match.getTeamCount())
+            .emergencyCount(match.getEmergencyCount())
+            .build();
+    }
+}
@@ -6,12 +6,18 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "match")
+@DynamicUpdate
+@Table(name = "match",
+        indexes = {
+            @Index(name = "idx_match_created_by_start", columnList = "created_by, start_time"),
+            @Index(name = "idx_match_ground_geohash", columnList = "ground_geohash")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -52,6 +58,10 @@ public class Match {
     @Column(name = "ground_lng")
     private Double groundLng;
 
+    // Geohash of (groundLat, groundLng); prefixes identify nearby grounds
+    @Column(name = "ground_geohash", length = 12)
+    private String groundGeohash;
+
     @Column(name = "overs", nullable = false)
     private Integer overs;
 
@@ -69,6 +79,11 @@ public class Match {
     @Builder.Default
     private Integer backupSlots = 2;
 
+    // Most EMERGENCY participants a captain may approve
+    @Column(name = "emergency_slots", nullable = false, columnDefinition = "integer default 2")
+    @Builder.Default
+    private Integer emergencySlots = 2;
+
     @Column(name = "emergency_enabled", nullable = false)
     @Builder.Default
     private Boolean emergencyEnabled = false;
@@ -81,6 +96,46 @@ public class Match {
     @Column(name = "start_time", nullable = false)
     private OffsetDateTime startTime;
 
+    // Set when the match was created as part of a recurring series
+    @Column(name = "series_id")
+    private UUID seriesId;
+
+    // Live roster counters, maintained by MatchCounterService in the same transaction as
+    // participant changes and repaired from match_participant by MatchCounterRepairScheduler
+    @Column(name = "team_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer teamCount = 0;
+
+    @Column(name = "backup_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer backupCount = 0;
+
+    @Column(name = "emergency_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer emergencyCount = 0;
+
+    @Column(name = "paid_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer paidCount = 0;
+
+    @Column(name = "collected_amount", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer collectedAmount = 0;
+
+    // Payment summary: all participant rows, and fees still owed by UNPAID rows
+    @Column(name = "participant_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer participantCount = 0;
+
+    @Column(name = "pending_amount", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer pendingAmount = 0;
+
+    // Bumped on every participant row change; together with updatedAt it versions the match for ETags
+    @Column(name = "roster_version", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long rosterVersion = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -101,4 +156,15 @@ public class Match {
     public boolean isCaptain(Long userId) {
         return createdBy.equals(userId);
     }
+
+    /**
+     * Fee owed by a participant in the given role: emergency players pay the
+     * emergency fee when one is set, everyone else the regular fee
+     */
+    public Integer feeFor(ParticipantRole role) {
+        if (role == ParticipantRole.EMERGENCY && emergencyFee != null) {
+            return emergencyFee;
+        }
+        return feePerPerson;
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.playmatch.mvp.matches.model;
+
+/**
+ * Change to a match's live counters caused by one participant state transition.
+ * A participant contributes to the role count while CONFIRMED, to the paid
+ * count and collected amount while PAID, to the pending amount while UNPAID,
+ * and to the participant count always.
+ */
+public record MatchCounterDelta(int team, int backup, int emergency, int paid, int collected,
+                                int participants, int pending) {
+
+    public static final MatchCounterDelta ZERO = new MatchCounterDelta(0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Contribution of a participant in its current state
+     */
+    public static MatchCounterDelta of(MatchParticipant participant) {
+        boolean confirmed = participant.getStatus() == ParticipantStatus.CONFIRMED;
+        boolean paid = participant.getPaymentStatus() == PaymentStatus.PAID;
+        return new MatchCounterDelta(
+            confirmed && participant.getRole() == ParticipantRole.TEAM ? 1 : 0,
+            confirmed && participant.getRole() == ParticipantRole.BACKUP ? 1 : 0,
+            confirmed && participant.getRole() == ParticipantRole.EMERGENCY ? 1 : 0,
+            paid ? 1 : 0,
+            paid ? participant.getFeeAmount() : 0,
+            1,
+            participant.getPaymentStatus() == PaymentStatus.UNPAID ? participant.getFeeAmount() : 0
+        );
+    }
+
+    public MatchCounterDelta plus(MatchCounterDelta other) {
+        return new MatchCounterDelta(team + other.team, backup + other.backup,
+            emergency + other.emergency, paid + other.paid, collected + other.collected,
+            participants + other.participants, pending + other.pending);
+    }
+
+    public MatchCounterDelta minus(MatchCounterDelta other) {
+        return new MatchCounterDelta(team - other.team, backup - other.backup,
+            emergency - other.emergency, paid - other.paid, collected - other.collected,
+            participants - other.participants, pending - other.pending);
+    }
+
+    public boolean isZero() {
+        return this.equals(ZERO);
+    }
+}
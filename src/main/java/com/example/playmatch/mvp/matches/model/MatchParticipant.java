@@ -12,7 +12,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "match_participant",
-        uniqueConstraints = @UniqueConstraint(name = "uq_match_user", columnNames = {"match_id", "user_id"}))
+        uniqueConstraints = @UniqueConstraint(name = "uq_match_user", columnNames = {"match_id", "user_id"}),
+        indexes = {
+            @Index(name = "idx_participant_user", columnList = "user_id, match_id"),
+            @Index(name = "idx_participant_match_payment_status",
+                    columnList = "match_id, payment_status, status, user_id, fee_amount")
+        })
 @Data
 @Builder
 @NoArgsConstructor
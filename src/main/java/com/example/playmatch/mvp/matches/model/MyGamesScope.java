@@ -0,0 +1,22 @@
+package com.example.playmatch.mvp.matches.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Split of the paginated My Games feed
+ */
+public enum MyGamesScope {
+    UPCOMING(EnumSet.of(MatchStatus.CREATED, MatchStatus.ACTIVE)),
+    PAST(EnumSet.of(MatchStatus.COMPLETED, MatchStatus.CANCELLED));
+
+    private final Set<MatchStatus> statuses;
+
+    MyGamesScope(Set<MatchStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Set<MatchStatus> getStatuses() {
+        return statuses;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A confirmed participant of a completed match (trust score backfill source)
+ */
+public interface AttendanceView {
+    Long getId();
+    Long getUserId();
+    OffsetDateTime getStartTime();
+}
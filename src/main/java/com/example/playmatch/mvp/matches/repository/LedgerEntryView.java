@@ -0,0 +1,13 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One player's unpaid fees across a captain's matches
+ */
+public interface LedgerEntryView {
+    Long getUserId();
+    Long getMatchCount();
+    Long getOwedAmount();
+    OffsetDateTime getOldestMatchAt();
+}
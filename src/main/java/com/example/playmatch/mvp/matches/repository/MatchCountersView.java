@@ -0,0 +1,14 @@
+package com.example.playmatch.mvp.matches.repository;
+
+/**
+ * Live counters recomputed from match_participant
+ */
+public interface MatchCountersView {
+    Long getTeamCount();
+    Long getBackupCount();
+    Long getEmergencyCount();
+    Long getPaidCount();
+    Long getCollectedAmount();
+    Long getParticipantCount();
+    Long getPendingAmount();
+}
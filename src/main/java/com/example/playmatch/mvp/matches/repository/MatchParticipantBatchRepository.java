@@ -0,0 +1,53 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import com.example.playmatch.mvp.matches.model.PaymentMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC statements on match_participant that need Postgres features JPQL lacks.
+ * Runs on the connection of the surrounding JPA transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchParticipantBatchRepository {
+
+    private static final String MARK_PAID_SQL = """
+        UPDATE match_participant
+        SET payment_status = 'PAID', payment_mode = ?, updated_at = ?
+        WHERE match_id = ? AND user_id = ANY (?) AND payment_status = 'UNPAID'
+        RETURNING fee_amount
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mark the given UNPAID participants of a match as paid with one payment mode.
+     * Rows already PAID, including ones paid concurrently since the caller read them, are left alone.
+     *
+     * @return Fee of every row this statement moved to PAID
+     */
+    public List<Integer> markPaid(UUID matchId, Collection<Long> userIds, PaymentMode mode, OffsetDateTime now) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(MARK_PAID_SQL);
+            if (mode != null) {
+                ps.setString(1, mode.name());
+            } else {
+                ps.setNull(1, Types.VARCHAR);
+            }
+            ps.setTimestamp(2, Timestamp.from(now.toInstant()));
+            ps.setObject(3, matchId);
+            ps.setArray(4, connection.createArrayOf("bigint", userIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getInt(1));
+    }
+}
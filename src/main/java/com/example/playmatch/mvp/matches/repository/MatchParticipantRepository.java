@@ -2,12 +2,18 @@ package com.example.playmatch.mvp.matches.repository;
 
 import com.example.playmatch.mvp.matches.model.MatchParticipant;
 import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.model.PaymentMode;
 import com.example.playmatch.mvp.matches.model.ParticipantStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +22,8 @@ import java.util.UUID;
 public interface MatchParticipantRepository extends JpaRepository<MatchParticipant, Long> {
     Optional<MatchParticipant> findByMatchIdAndUserId(UUID matchId, Long userId);
 
+    boolean existsByMatchIdAndUserId(UUID matchId, Long userId);
+
     List<MatchParticipant> findByMatchId(UUID matchId);
 
     @Query("SELECT p FROM MatchParticipant p JOIN FETCH p.user WHERE p.matchId = :matchId")
@@ -23,14 +31,130 @@ public interface MatchParticipantRepository extends JpaRepository<MatchParticipa
 
     List<MatchParticipant> findByMatchIdAndStatus(UUID matchId, ParticipantStatus status);
 
+    List<MatchParticipant> findByMatchIdAndUserIdIn(UUID matchId, Collection<Long> userIds);
+
+    /**
+     * Change the payment mode of already PAID participants of a match; counters are unaffected.
+     * UNPAID participants are marked through MatchParticipantBatchRepository.markPaid.
+     */
+    @Modifying
+    @Query("""
+        UPDATE MatchParticipant p SET
+            p.paymentMode = :mode,
+            p.updatedAt = :now
+        WHERE p.matchId = :matchId AND p.userId IN :userIds
+          AND p.paymentStatus = com.example.playmatch.mvp.matches.model.PaymentStatus.PAID
+        """)
+    int updatePaidMode(
+        @Param("matchId") UUID matchId,
+        @Param("userIds") Collection<Long> userIds,
+        @Param("mode") PaymentMode mode,
+        @Param("now") OffsetDateTime now
+    );
+
+    /**
+     * Users who attended a match: confirmed participants with no backout logged for it
+     */
+    @Query("""
+        SELECT p.userId FROM MatchParticipant p
+        WHERE p.matchId = :matchId
+          AND p.status = com.example.playmatch.mvp.matches.model.ParticipantStatus.CONFIRMED
+          AND NOT EXISTS (SELECT 1 FROM BackoutLog b WHERE b.matchId = p.matchId AND b.userId = p.userId)
+        """)
+    List<Long> findAttendedUserIds(@Param("matchId") UUID matchId);
+
+    /**
+     * Keyset chunk of attendances (confirmed participants of completed matches with no backout logged
+     * for the match) with id in (afterId, maxId], in id order
+     */
+    @Query("""
+        SELECT p.id AS id, p.userId AS userId, m.startTime AS startTime
+        FROM MatchParticipant p
+        JOIN Match m ON m.id = p.matchId
+        WHERE p.id > :afterId AND p.id <= :maxId
+          AND p.status = com.example.playmatch.mvp.matches.model.ParticipantStatus.CONFIRMED
+          AND m.status = com.example.playmatch.mvp.matches.model.MatchStatus.COMPLETED
+          AND NOT EXISTS (SELECT 1 FROM BackoutLog b WHERE b.matchId = p.matchId AND b.userId = p.userId)
+        ORDER BY p.id
+        """)
+    List<AttendanceView> findAttendanceChunk(
+        @Param("afterId") Long afterId,
+        @Param("maxId") Long maxId,
+        Pageable pageable
+    );
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM MatchParticipant p")
+    Long findMaxId();
+
     @Query("SELECT COUNT(p) FROM MatchParticipant p WHERE p.matchId = :matchId AND p.status = 'CONFIRMED' AND p.role = :role")
     long countByMatchIdAndStatusConfirmedAndRole(@Param("matchId") UUID matchId, @Param("role") ParticipantRole role);
 
     @Query("SELECT COUNT(p) FROM MatchParticipant p WHERE p.matchId = :matchId AND p.status = 'CONFIRMED'")
     long countConfirmedByMatchId(@Param("matchId") UUID matchId);
 
+    /**
+     * Recompute a match's live counters from its participant rows
+     */
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN p.status = 'CONFIRMED' AND p.role = 'TEAM' THEN 1 ELSE 0 END), 0) AS teamCount,
+               COALESCE(SUM(CASE WHEN p.status = 'CONFIRMED' AND p.role = 'BACKUP' THEN 1 ELSE 0 END), 0) AS backupCount,
+               COALESCE(SUM(CASE WHEN p.status = 'CONFIRMED' AND p.role = 'EMERGENCY' THEN 1 ELSE 0 END), 0) AS emergencyCount,
+               COALESCE(SUM(CASE WHEN p.paymentStatus = 'PAID' THEN 1 ELSE 0 END), 0) AS paidCount,
+               COALESCE(SUM(CASE WHEN p.paymentStatus = 'PAID' THEN p.feeAmount ELSE 0 END), 0) AS collectedAmount,
+               COUNT(p) AS participantCount,
+               COALESCE(SUM(CASE WHEN p.paymentStatus = 'UNPAID' THEN p.feeAmount ELSE 0 END), 0) AS pendingAmount
+        FROM MatchParticipant p
+        WHERE p.matchId = :matchId
+        """)
+    MatchCountersView aggregateCounters(@Param("matchId") UUID matchId);
+
     /**
      * Count participants by match, role, and status
      */
     long countByMatchIdAndRoleAndStatus(UUID matchId, ParticipantRole role, ParticipantStatus status);
+
+    /**
+     * Unpaid fees per player over every non-cancelled match the captain created, largest debt first.
+     * Served by idx_match_created_by_start (captain's matches) and idx_participant_match_payment_status
+     * (unpaid confirmed rows per match, covering user_id and fee_amount).
+     */
+    @Query(value = """
+        SELECT p.userId AS userId, COUNT(p) AS matchCount, SUM(p.feeAmount) AS owedAmount,
+               MIN(m.startTime) AS oldestMatchAt
+        FROM Match m
+        JOIN MatchParticipant p ON p.matchId = m.id
+        WHERE m.createdBy = :captainId
+          AND m.status <> com.example.playmatch.mvp.matches.model.MatchStatus.CANCELLED
+          AND p.paymentStatus = com.example.playmatch.mvp.matches.model.PaymentStatus.UNPAID
+          AND p.status = com.example.playmatch.mvp.matches.model.ParticipantStatus.CONFIRMED
+          AND p.userId <> :captainId
+        GROUP BY p.userId
+        ORDER BY SUM(p.feeAmount) DESC, p.userId
+        """,
+        countQuery = """
+        SELECT COUNT(DISTINCT p.userId)
+        FROM Match m
+        JOIN MatchParticipant p ON p.matchId = m.id
+        WHERE m.createdBy = :captainId
+          AND m.status <> com.example.playmatch.mvp.matches.model.MatchStatus.CANCELLED
+          AND p.paymentStatus = com.example.playmatch.mvp.matches.model.PaymentStatus.UNPAID
+          AND p.status = com.example.playmatch.mvp.matches.model.ParticipantStatus.CONFIRMED
+          AND p.userId <> :captainId
+        """)
+    Page<LedgerEntryView> findCaptainLedger(@Param("captainId") Long captainId, Pageable pageable);
+
+    /**
+     * Total unpaid fees owed to the captain (same filter as the ledger)
+     */
+    @Query("""
+        SELECT COALESCE(SUM(p.feeAmount), 0)
+        FROM Match m
+        JOIN MatchParticipant p ON p.matchId = m.id
+        WHERE m.createdBy = :captainId
+          AND m.status <> com.example.playmatch.mvp.matches.model.MatchStatus.CANCELLED
+          AND p.paymentStatus = com.example.playmatch.mvp.matches.model.PaymentStatus.UNPAID
+          AND p.status = com.example.playmatch.mvp.matches.model.ParticipantStatus.CONFIRMED
+          AND p.userId <> :captainId
+        """)
+    Long sumOwedToCaptain(@Param("captainId") Long captainId);
 }
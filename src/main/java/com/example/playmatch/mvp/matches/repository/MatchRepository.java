@@ -1,17 +1,80 @@
 package com.example.playmatch.mvp.matches.repository;
 
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
 import com.example.playmatch.mvp.matches.model.Match;
 import com.example.playmatch.mvp.matches.model.MatchStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, UUID> {
+    /**
+     * Shared projection and join of the "My Games" queries (see {@link MyGameSummaryView});
+     * callers append their own WHERE / ORDER BY.
+     */
+    String MY_GAMES_SELECT = """
+        SELECT m.id AS matchId, m.teamName AS teamName, m.eventType AS eventType,
+               m.ballCategory AS ballCategory, m.ballVariant AS ballVariant, m.overs AS overs,
+               m.status AS status, m.startTime AS startTime, m.groundMapsUrl AS groundMapsUrl,
+               m.groundLat AS groundLat, m.groundLng AS groundLng, m.feePerPerson AS feePerPerson,
+               m.emergencyFee AS emergencyFee, m.createdBy AS createdBy,
+               m.requiredPlayers AS requiredPlayers, m.backupSlots AS backupSlots,
+               mp.role AS userRole, mp.paymentStatus AS paymentStatus,
+               mp.paymentMode AS paymentMode, mp.feeAmount AS feeAmount,
+               m.teamCount AS teamCount, m.backupCount AS backupCount, m.emergencyCount AS emergencyCount
+        FROM Match m
+        LEFT JOIN MatchParticipant mp ON mp.matchId = m.id AND mp.userId = :userId
+        """;
+
+    /**
+     * Longest wait for a match row lock on request paths. Hibernate's PostgreSQL dialect ignores a
+     * positive jakarta.persistence.lock.timeout hint, so the bound is set with lock_timeout instead.
+     */
+    String MATCH_LOCK_TIMEOUT = "3s";
+
+    /**
+     * Load a match holding a row lock (SELECT ... FOR UPDATE) until the transaction ends.
+     * Serializes slot allocation for the same match across threads and pods.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id = :id")
+    Optional<Match> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * SET LOCAL lock_timeout: bounds every lock wait for the rest of the current transaction
+     */
+    @Query(value = "SELECT set_config('lock_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalLockTimeout(@Param("timeout") String timeout);
+
+    /**
+     * {@link #findByIdForUpdate} for request paths, within a transaction: a lock wait longer than
+     * {@link #MATCH_LOCK_TIMEOUT} (or a deadlock) surfaces as the retryable MATCH_BUSY instead of an
+     * unhandled persistence error.
+     */
+    default Optional<Match> lockById(UUID id) {
+        try {
+            setLocalLockTimeout(MATCH_LOCK_TIMEOUT);
+            return findByIdForUpdate(id);
+        } catch (PessimisticLockingFailureException e) {
+            throw new MvpException(MvpError.MATCH_BUSY);
+        }
+    }
+
     List<Match> findByCreatedBy(Long userId);
     List<Match> findByCreatedByAndStatus(Long userId, MatchStatus status);
 
@@ -25,4 +88,215 @@ public interface MatchRepository extends JpaRepository<Match, UUID> {
         ORDER BY m.startTime DESC
         """)
     List<Match> findAllUserMatches(@Param("userId") Long userId);
+
+    /**
+     * Single-query "My Games" feed: every match where user is captain or participant,
+     * joined with the user's own participant row (counts come from the match's live counters)
+     */
+    @Query(MY_GAMES_SELECT + """
+        WHERE m.createdBy = :userId OR mp.id IS NOT NULL
+        ORDER BY m.startTime DESC
+        """)
+    List<MyGameSummaryView> findMyGameSummaries(@Param("userId") Long userId);
+
+    /**
+     * Keyset page of "My Games" in ascending (startTime, id) order, starting after the cursor.
+     * Used for upcoming games (soonest first).
+     */
+    @Query(MY_GAMES_SELECT + """
+        WHERE (m.createdBy = :userId OR mp.id IS NOT NULL)
+          AND m.status IN :statuses
+          AND (m.startTime > :afterTime OR (m.startTime = :afterTime AND m.id > :afterId))
+        ORDER BY m.startTime ASC, m.id ASC
+        """)
+    List<MyGameSummaryView> findMyGameSummariesAfter(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<MatchStatus> statuses,
+        @Param("afterTime") OffsetDateTime afterTime,
+        @Param("afterId") UUID afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Keyset page of "My Games" in descending (startTime, id) order, starting before the cursor.
+     * Used for past games (most recent first).
+     */
+    @Query(MY_GAMES_SELECT + """
+        WHERE (m.createdBy = :userId OR mp.id IS NOT NULL)
+          AND m.status IN :statuses
+          AND (m.startTime < :beforeTime OR (m.startTime = :beforeTime AND m.id < :beforeId))
+        ORDER BY m.startTime DESC, m.id DESC
+        """)
+    List<MyGameSummaryView> findMyGameSummariesBefore(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<MatchStatus> statuses,
+        @Param("beforeTime") OffsetDateTime beforeTime,
+        @Param("beforeId") UUID beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * Number of the user's matches per status (summary counts for paginated My Games)
+     */
+    @Query("""
+        SELECT m.status AS status, COUNT(DISTINCT m.id) AS count
+        FROM Match m
+        LEFT JOIN MatchParticipant mp ON mp.matchId = m.id AND mp.userId = :userId
+        WHERE m.createdBy = :userId OR mp.id IS NOT NULL
+        GROUP BY m.status
+        """)
+    List<MatchStatusCountView> countUserMatchesByStatus(@Param("userId") Long userId);
+
+    /**
+     * Atomically add a delta to a match's live counters and bump its roster version
+     */
+    @Modifying
+    @Query("""
+        UPDATE Match m SET
+            m.teamCount = m.teamCount + :team,
+            m.backupCount = m.backupCount + :backup,
+            m.emergencyCount = m.emergencyCount + :emergency,
+            m.paidCount = m.paidCount + :paid,
+            m.collectedAmount = m.collectedAmount + :collected,
+            m.participantCount = m.participantCount + :participants,
+            m.pendingAmount = m.pendingAmount + :pending,
+            m.rosterVersion = m.rosterVersion + 1
+        WHERE m.id = :matchId
+        """)
+    int addToCounters(
+        @Param("matchId") UUID matchId,
+        @Param("team") int team,
+        @Param("backup") int backup,
+        @Param("emergency") int emergency,
+        @Param("paid") int paid,
+        @Param("collected") int collected,
+        @Param("participants") int participants,
+        @Param("pending") int pending
+    );
+
+    /**
+     * Overwrite a match's live counters with recomputed values (repair)
+     */
+    @Modifying
+    @Query("""
+        UPDATE Match m SET
+            m.teamCount = :team,
+            m.backupCount = :backup,
+            m.emergencyCount = :emergency,
+            m.paidCount = :paid,
+            m.collectedAmount = :collected,
+            m.participantCount = :participants,
+            m.pendingAmount = :pending,
+            m.rosterVersion = m.rosterVersion + 1
+        WHERE m.id = :matchId
+        """)
+    int setCounters(
+        @Param("matchId") UUID matchId,
+        @Param("team") int team,
+        @Param("backup") int backup,
+        @Param("emergency") int emergency,
+        @Param("paid") int paid,
+        @Param("collected") int collected,
+        @Param("participants") int participants,
+        @Param("pending") int pending
+    );
+
+    /**
+     * Upcoming matches with a free emergency slot whose ground geohash lies in [fromHash, toHash),
+     * i.e. inside one geohash cell (range scan on idx_match_ground_geohash)
+     */
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.groundGeohash >= :fromHash AND m.groundGeohash < :toHash
+          AND m.status IN :statuses
+          AND m.emergencyEnabled = true
+          AND m.emergencyCount < m.emergencySlots
+          AND m.startTime > :now
+        """)
+    List<Match> findNearbyCandidatesInRange(
+        @Param("fromHash") String fromHash,
+        @Param("toHash") String toHash,
+        @Param("statuses") Collection<MatchStatus> statuses,
+        @Param("now") OffsetDateTime now
+    );
+
+    /**
+     * Upcoming matches with coordinates but no ground geohash (rows created before the column existed)
+     */
+    @Query("""
+        SELECT m FROM Match m
+        WHERE m.groundGeohash IS NULL
+          AND m.groundLat IS NOT NULL AND m.groundLng IS NOT NULL
+          AND m.status IN :statuses
+          AND m.startTime > :now
+        """)
+    List<Match> findMissingGroundGeohash(
+        @Param("statuses") Collection<MatchStatus> statuses,
+        @Param("now") OffsetDateTime now
+    );
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Match m SET m.groundGeohash = :geohash WHERE m.id = :matchId")
+    int setGroundGeohash(@Param("matchId") UUID matchId, @Param("geohash") String geohash);
+
+    /**
+     * Which of the given users are committed (confirmed participant or captain) to an open match starting in [from, to]
+     */
+    @Query(value = """
+        SELECT p.user_id FROM match_participant p
+        JOIN match m ON m.id = p.match_id
+        WHERE p.user_id IN (:userIds)
+          AND p.status = 'CONFIRMED'
+          AND m.status IN ('CREATED', 'ACTIVE')
+          AND m.start_time BETWEEN :from AND :to
+        UNION
+        SELECT m.created_by FROM match m
+        WHERE m.created_by IN (:userIds)
+          AND m.status IN ('CREATED', 'ACTIVE')
+          AND m.start_time BETWEEN :from AND :to
+        """, nativeQuery = true)
+    List<Long> findCommittedUserIds(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("from") OffsetDateTime from,
+        @Param("to") OffsetDateTime to
+    );
+
+    /**
+     * Version stamp of a single match, for conditional GETs
+     */
+    @Query("SELECT m.createdBy AS createdBy, m.updatedAt AS updatedAt, m.rosterVersion AS rosterVersion FROM Match m WHERE m.id = :matchId")
+    Optional<MatchVersionView> findVersionById(@Param("matchId") UUID matchId);
+
+    /**
+     * Aggregate version stamp over all matches where the user is captain or participant
+     */
+    @Query("""
+        SELECT COUNT(m) AS gameCount,
+               MAX(m.updatedAt) AS lastUpdatedAt,
+               COALESCE(SUM(m.rosterVersion), 0) AS versionSum
+        FROM Match m
+        LEFT JOIN MatchParticipant mp ON mp.matchId = m.id AND mp.userId = :userId
+        WHERE m.createdBy = :userId OR mp.id IS NOT NULL
+        """)
+    MyGamesVersionView findMyGamesVersion(@Param("userId") Long userId);
+
+    /**
+     * IDs of matches starting on or after :since whose live counters disagree with match_participant
+     */
+    @Query(value = """
+        SELECT m.id FROM match m
+        LEFT JOIN match_participant p ON p.match_id = m.id
+        WHERE m.start_time >= :since
+        GROUP BY m.id, m.team_count, m.backup_count, m.emergency_count, m.paid_count, m.collected_amount,
+                 m.participant_count, m.pending_amount
+        HAVING m.team_count <> COUNT(p.id) FILTER (WHERE p.status = 'CONFIRMED' AND p.role = 'TEAM')
+            OR m.backup_count <> COUNT(p.id) FILTER (WHERE p.status = 'CONFIRMED' AND p.role = 'BACKUP')
+            OR m.emergency_count <> COUNT(p.id) FILTER (WHERE p.status = 'CONFIRMED' AND p.role = 'EMERGENCY')
+            OR m.paid_count <> COUNT(p.id) FILTER (WHERE p.payment_status = 'PAID')
+            OR m.collected_amount <> COALESCE(SUM(p.fee_amount) FILTER (WHERE p.payment_status = 'PAID'), 0)
+            OR m.participant_count <> COUNT(p.id)
+            OR m.pending_amount <> COALESCE(SUM(p.fee_amount) FILTER (WHERE p.payment_status = 'UNPAID'), 0)
+        """, nativeQuery = true)
+    List<UUID> findMatchIdsWithCounterDrift(@Param("since") OffsetDateTime since);
 }
@@ -0,0 +1,8 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+
+public interface MatchStatusCountView {
+    MatchStatus getStatus();
+    Long getCount();
+}
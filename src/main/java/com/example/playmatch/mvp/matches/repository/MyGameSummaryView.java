@@ -0,0 +1,40 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import com.example.playmatch.mvp.matches.model.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection of a "My Games" row: match fields, the requesting user's own
+ * participant row (null when the user is only the captain) and the match's live role counters.
+ */
+public interface MyGameSummaryView {
+    UUID getMatchId();
+    String getTeamName();
+    EventType getEventType();
+    BallCategory getBallCategory();
+    BallVariant getBallVariant();
+    Integer getOvers();
+    MatchStatus getStatus();
+    OffsetDateTime getStartTime();
+    String getGroundMapsUrl();
+    Double getGroundLat();
+    Double getGroundLng();
+    Integer getFeePerPerson();
+    Integer getEmergencyFee();
+    Long getCreatedBy();
+    Integer getRequiredPlayers();
+    Integer getBackupSlots();
+
+    // Requesting user's participant row
+    ParticipantRole getUserRole();
+    PaymentStatus getPaymentStatus();
+    PaymentMode getPaymentMode();
+    Integer getFeeAmount();
+
+    // Confirmed counts per role
+    Integer getTeamCount();
+    Integer getBackupCount();
+    Integer getEmergencyCount();
+}
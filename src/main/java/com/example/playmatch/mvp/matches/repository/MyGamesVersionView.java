@@ -0,0 +1,9 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import java.time.OffsetDateTime;
+
+public interface MyGamesVersionView {
+    Long getGameCount();
+    OffsetDateTime getLastUpdatedAt();
+    Long getVersionSum();
+}
@@ -0,0 +1,68 @@
+package com.example.playmatch.mvp.matches.scheduler;
+
+import com.example.playmatch.mvp.common.lock.JobLock;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchCounterRepairScheduler {
+
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    // Startup and nightly repairs share one lock: whichever instance holds it does the scan
+    private static final String JOB_NAME = "match-counter-repair";
+
+    private final MatchCounterService matchCounterService;
+    private final JobLock jobLock;
+
+    @Value("${app.mvp.counters.repair-window-days:30}")
+    private int repairWindowDays;
+
+    @Value("${app.mvp.counters.repair-all-on-startup:false}")
+    private boolean repairAllOnStartup;
+
+    /**
+     * One-off backfill of counters for all matches (rows created before the columns existed).
+     * Scans the whole match table, so it only runs when enabled for a single deploy.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairAllOnStartup() {
+        if (!repairAllOnStartup) {
+            return;
+        }
+        log.info("Full match counter repair enabled on startup");
+        jobLock.runExclusively(JOB_NAME, () -> repair(BEGINNING));
+    }
+
+    /**
+     * Recompute drifted counters for recent and upcoming matches
+     * Runs daily at 03:30 by default; the schedule fires on every instance but only one runs the repair
+     */
+    @Scheduled(cron = "${app.mvp.counters.repair-cron:0 30 3 * * *}")
+    public void repairRecent() {
+        jobLock.runExclusively(JOB_NAME, () -> repair(OffsetDateTime.now().minusDays(repairWindowDays)));
+    }
+
+    private void repair(OffsetDateTime since) {
+        List<UUID> drifted = matchCounterService.findDrifted(since);
+        if (drifted.isEmpty()) {
+            log.debug("No match counter drift found since {}", since);
+            return;
+        }
+
+        drifted.forEach(matchCounterService::repair);
+        log.info("Repaired live counters for {} match(es) since {}", drifted.size(), since);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.playmatch.mvp.matches.service;
+
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface MatchCounterService {
+    /**
+     * Apply a counter delta to a match within the caller's transaction and bump its roster version.
+     * Must be called for every participant row change, even when the delta is zero.
+     *
+     * @param matchId Match ID
+     * @param delta   Change to apply
+     */
+    void apply(UUID matchId, MatchCounterDelta delta);
+
+    /**
+     * Find matches whose live counters have drifted from their participant rows
+     *
+     * @param since Only consider matches starting on or after this time
+     * @return IDs of drifted matches
+     */
+    List<UUID> findDrifted(OffsetDateTime since);
+
+    /**
+     * Recompute a match's counters from match_participant under the match row lock
+     *
+     * @param matchId Match ID
+     */
+    void repair(UUID matchId);
+}
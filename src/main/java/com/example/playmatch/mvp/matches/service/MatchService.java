@@ -1,9 +1,14 @@
 package com.example.playmatch.mvp.matches.service;
 
 import com.example.playmatch.mvp.matches.dto.CreateMatchDto;
+import com.example.playmatch.mvp.matches.dto.CreateMatchSeriesDto;
 import com.example.playmatch.mvp.matches.dto.MatchCreatedResponseDto;
 import com.example.playmatch.mvp.matches.dto.MatchResponseDto;
+import com.example.playmatch.mvp.matches.dto.MatchSeriesCreatedResponseDto;
+import com.example.playmatch.mvp.matches.dto.MyGamesPageResponseDto;
 import com.example.playmatch.mvp.matches.dto.MyGamesResponseDto;
+import com.example.playmatch.mvp.matches.dto.NearbyMatchesResponseDto;
+import com.example.playmatch.mvp.matches.model.MyGamesScope;
 
 import java.util.UUID;
 
@@ -17,6 +22,15 @@ public interface MatchService {
      */
     MatchCreatedResponseDto createMatch(CreateMatchDto dto, Long captainId);
 
+    /**
+     * Create a recurring series of matches and their invites in one transaction
+     *
+     * @param dto       Match template, number of occurrences and interval
+     * @param captainId ID of user creating the series
+     * @return Series ID and one created response per match, ordered by start time
+     */
+    MatchSeriesCreatedResponseDto createMatchSeries(CreateMatchSeriesDto dto, Long captainId);
+
     /**
      * Get match details (role-aware view)
      *
@@ -26,6 +40,38 @@ public interface MatchService {
      */
     MatchResponseDto getMatch(UUID matchId, Long userId);
 
+    /**
+     * Get match details consistent with a version tag from {@link #getMatchVersionTag}.
+     * A cached roster snapshot older than the tag is reloaded, so the body is never
+     * older than the ETag sent with it.
+     *
+     * @param matchId    Match ID
+     * @param userId     Current user ID (can be null for public view)
+     * @param versionTag ETag the response will carry
+     * @return Match details
+     */
+    MatchResponseDto getMatch(UUID matchId, Long userId, String versionTag);
+
+    /**
+     * Get the ETag for a match view without loading participants
+     *
+     * @param matchId Match ID
+     * @param userId  Current user ID (can be null for public view)
+     * @return Weak ETag covering the match row, its roster version and the viewer
+     */
+    String getMatchVersionTag(UUID matchId, Long userId);
+
+    /**
+     * Find upcoming open matches accepting emergency players near a location
+     *
+     * @param lat      Latitude
+     * @param lng      Longitude
+     * @param radiusKm Search radius in kilometres (capped)
+     * @param limit    Max results
+     * @return Matches within the radius, nearest first
+     */
+    NearbyMatchesResponseDto getNearbyMatches(double lat, double lng, double radiusKm, int limit);
+
     /**
      * Respond YES to match invitation
      *
@@ -65,4 +111,34 @@ public interface MatchService {
      * @return List of user's games with summary info
      */
     MyGamesResponseDto getMyGames(Long userId);
+
+    /**
+     * Get the ETag for the user's games list from an aggregate version stamp
+     *
+     * @param userId Current user ID
+     * @return Weak ETag
+     */
+    String getMyGamesVersionTag(Long userId);
+
+    /**
+     * Get one keyset page of the user's matches
+     *
+     * @param userId Current user ID
+     * @param scope  UPCOMING (soonest first) or PAST (most recent first)
+     * @param cursor Cursor from the previous page, null for the first page
+     * @param limit  Page size
+     * @return Page of games, next cursor and (first page only) summary counts
+     */
+    MyGamesPageResponseDto getMyGamesPage(Long userId, MyGamesScope scope, String cursor, int limit);
+
+    /**
+     * Get the ETag for one page of the user's games
+     *
+     * @param userId Current user ID
+     * @param scope  Page scope
+     * @param cursor Page cursor, null for the first page
+     * @param limit  Page size
+     * @return Weak ETag
+     */
+    String getMyGamesPageVersionTag(Long userId, MyGamesScope scope, String cursor, int limit);
 }
@@ -0,0 +1,65 @@
+package com.example.playmatch.mvp.matches.service.impl;
+
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
+import com.example.playmatch.mvp.matches.repository.MatchCountersView;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchCounterServiceImpl implements MatchCounterService {
+
+    private final MatchRepository matchRepository;
+    private final MatchParticipantRepository participantRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID matchId, MatchCounterDelta delta) {
+        // Zero deltas still bump the roster version (e.g. a payment mode change)
+        matchRepository.addToCounters(matchId,
+            delta.team(), delta.backup(), delta.emergency(), delta.paid(), delta.collected(),
+            delta.participants(), delta.pending());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findDrifted(OffsetDateTime since) {
+        return matchRepository.findMatchIdsWithCounterDrift(since);
+    }
+
+    @Override
+    @Transactional
+    public void repair(UUID matchId) {
+        // Same lock as respondYes, so no slot allocation interleaves with the recount
+        if (matchRepository.lockById(matchId).isEmpty()) {
+            return;
+        }
+
+        MatchCountersView actual = participantRepository.aggregateCounters(matchId);
+        matchRepository.setCounters(matchId,
+            actual.getTeamCount().intValue(),
+            actual.getBackupCount().intValue(),
+            actual.getEmergencyCount().intValue(),
+            actual.getPaidCount().intValue(),
+            actual.getCollectedAmount().intValue(),
+            actual.getParticipantCount().intValue(),
+            actual.getPendingAmount().intValue());
+
+        log.warn("Repaired live counters for match {}: team={}, backup={}, emergency={}, paid={}, collected={}, "
+                + "participants={}, pending={}",
+            matchId, actual.getTeamCount(), actual.getBackupCount(), actual.getEmergencyCount(),
+            actual.getPaidCount(), actual.getCollectedAmount(),
+            actual.getParticipantCount(), actual.getPendingAmount());
+    }
+}
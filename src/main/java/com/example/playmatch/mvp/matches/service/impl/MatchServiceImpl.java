@@ -2,31 +2,56 @@ package com.example.playmatch.mvp.matches.service.impl;
 
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.common.util.GeoHash;
+import com.example.playmatch.mvp.common.util.KeysetCursor;
 import com.example.playmatch.mvp.common.util.MapsUrlParser;
+import com.example.playmatch.mvp.common.util.VersionTags;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
 import com.example.playmatch.mvp.invites.model.InviteType;
 import com.example.playmatch.mvp.invites.model.MatchInvite;
 import com.example.playmatch.mvp.invites.service.InviteService;
+import com.example.playmatch.mvp.matches.cache.MatchRosterCache;
+import com.example.playmatch.mvp.matches.cache.MatchRosterSnapshot;
 import com.example.playmatch.mvp.matches.dto.CreateMatchDto;
+import com.example.playmatch.mvp.matches.dto.CreateMatchSeriesDto;
 import com.example.playmatch.mvp.matches.dto.MatchCreatedResponseDto;
 import com.example.playmatch.mvp.matches.dto.MatchResponseDto;
+import com.example.playmatch.mvp.matches.dto.MatchSeriesCreatedResponseDto;
+import com.example.playmatch.mvp.matches.dto.MyGamesPageResponseDto;
 import com.example.playmatch.mvp.matches.dto.MyGamesResponseDto;
+import com.example.playmatch.mvp.matches.dto.NearbyMatchDto;
+import com.example.playmatch.mvp.matches.dto.NearbyMatchesResponseDto;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import com.example.playmatch.mvp.matches.geo.NearbyMatchIndex;
 import com.example.playmatch.mvp.matches.model.*;
 import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
 import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchStatusCountView;
 import com.example.playmatch.mvp.matches.repository.MatchUnavailabilityRepository;
+import com.example.playmatch.mvp.matches.repository.MatchVersionView;
+import com.example.playmatch.mvp.matches.repository.MyGameSummaryView;
+import com.example.playmatch.mvp.matches.repository.MyGamesVersionView;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
 import com.example.playmatch.mvp.matches.service.MatchService;
-import com.example.playmatch.mvp.payments.model.PlatformFeeLog;
 import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
-import com.example.playmatch.mvp.users.model.MvpUser;
-import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -35,16 +60,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MatchServiceImpl implements MatchService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
+    // Sentinel cursors for the first page (inside PostgreSQL's timestamptz range)
+    private static final KeysetCursor FIRST_ASC_CURSOR =
+        new KeysetCursor(OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0L, 0L));
+    private static final KeysetCursor FIRST_DESC_CURSOR =
+        new KeysetCursor(OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC), new UUID(-1L, -1L));
+
     private final MatchRepository matchRepository;
     private final MatchParticipantRepository participantRepository;
     private final MatchUnavailabilityRepository unavailabilityRepository;
-    private final MvpUserRepository mvpUserRepository;
+    private final MvpUserDirectory mvpUserDirectory;
     private final InviteService inviteService;
     private final PlatformFeeLogRepository platformFeeLogRepository;
+    private final MatchRosterCache matchRosterCache;
+    private final MatchCounterService matchCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NearbyMatchIndex nearbyMatchIndex;
+    private final TrustScoreService trustScoreService;
 
     @Value("${app.mvp.platform-fee:50}")
     private Integer platformFee;
 
+    @Value("${app.mvp.nearby.max-radius-km:50}")
+    private double maxNearbyRadiusKm;
+
     @Override
     @Transactional
     public MatchCreatedResponseDto createMatch(CreateMatchDto dto, Long captainId) {
@@ -52,28 +93,12 @@ public class MatchServiceImpl implements MatchService {
         Double[] coordinates = MapsUrlParser.parse(dto.getGroundMapsUrl());
 
         // Create match
-        Match match = Match.builder()
-            .createdBy(captainId)
-            .teamName(dto.getTeamName())
-            .eventType(dto.getEventType())
-            .ballCategory(dto.getBallCategory())
-            .ballVariant(dto.getBallVariant())
-            .groundMapsUrl(dto.getGroundMapsUrl())
-            .groundLat(coordinates[0])
-            .groundLng(coordinates[1])
-            .overs(dto.getOvers())
-            .feePerPerson(dto.getFeePerPerson())
-            .emergencyFee(dto.getEmergencyFee())
-            .requiredPlayers(dto.getRequiredPlayers())
-            .backupSlots(dto.getBackupSlots())
-            .emergencyEnabled(dto.getEmergencyEnabled())
-            .status(MatchStatus.CREATED)
-            .startTime(dto.getStartTime())
-            .build();
+        Match match = buildMatch(dto, captainId, coordinates, dto.getStartTime(), null);
 
         Match savedMatch = matchRepository.save(match);
         log.info("Match created: id={}, captain={}, team={}",
             savedMatch.getId(), captainId, dto.getTeamName());
+        eventPublisher.publishEvent(MatchChangedEvent.of(savedMatch.getId(), MatchChangeType.MATCH_CREATED));
 
         // Generate TEAM invite (always)
         MatchInvite teamInvite = inviteService.createInvite(savedMatch.getId(), InviteType.TEAM);
@@ -93,13 +118,102 @@ public class MatchServiceImpl implements MatchService {
             .build();
     }
 
+    @Override
+    @Transactional
+    public MatchSeriesCreatedResponseDto createMatchSeries(CreateMatchSeriesDto dto, Long captainId) {
+        CreateMatchDto template = dto.getTemplate();
+        Double[] coordinates = MapsUrlParser.parse(template.getGroundMapsUrl());
+        UUID seriesId = UUID.randomUUID();
+
+        List<Match> matches = new ArrayList<>(dto.getOccurrences());
+        for (int i = 0; i < dto.getOccurrences(); i++) {
+            OffsetDateTime startTime = template.getStartTime().plusDays((long) i * dto.getIntervalDays());
+            matches.add(buildMatch(template, captainId, coordinates, startTime, seriesId));
+        }
+
+        // UUID ids are assigned in memory, so Hibernate can batch these inserts (hibernate.jdbc.batch_size).
+        // Flush before the invite JDBC batch below: it bypasses the persistence context and its
+        // match_id foreign key needs the match rows to exist already
+        List<Match> savedMatches = matchRepository.saveAllAndFlush(matches);
+        List<UUID> matchIds = savedMatches.stream().map(Match::getId).collect(Collectors.toList());
+        log.info("Match series created: seriesId={}, captain={}, team={}, occurrences={}",
+            seriesId, captainId, template.getTeamName(), matchIds.size());
+
+        // Invites use IDENTITY ids, so they go through a JDBC batch instead of per-row saves
+        List<MatchInvite> teamInvites = inviteService.createInvites(matchIds, InviteType.TEAM);
+        List<MatchInvite> emergencyInvites = Boolean.TRUE.equals(template.getEmergencyEnabled())
+            ? inviteService.createInvites(matchIds, InviteType.EMERGENCY)
+            : null;
+
+        List<MatchCreatedResponseDto> created = new ArrayList<>(matchIds.size());
+        for (int i = 0; i < matchIds.size(); i++) {
+            UUID matchId = matchIds.get(i);
+            eventPublisher.publishEvent(MatchChangedEvent.of(matchId, MatchChangeType.MATCH_CREATED));
+            created.add(MatchCreatedResponseDto.builder()
+                .matchId(matchId)
+                .teamInviteUrl(inviteService.buildInviteUrl(teamInvites.get(i).getInviteToken()))
+                .emergencyInviteUrl(emergencyInvites != null
+                    ? inviteService.buildInviteUrl(emergencyInvites.get(i).getInviteToken())
+                    : null)
+                .build());
+        }
+
+        return MatchSeriesCreatedResponseDto.builder()
+            .seriesId(seriesId)
+            .matches(created)
+            .build();
+    }
+
+    private Match buildMatch(CreateMatchDto dto, Long captainId, Double[] coordinates,
+                             OffsetDateTime startTime, UUID seriesId) {
+        return Match.builder()
+            .createdBy(captainId)
+            .teamName(dto.getTeamName())
+            .eventType(dto.getEventType())
+            .ballCategory(dto.getBallCategory())
+            .ballVariant(dto.getBallVariant())
+            .groundMapsUrl(dto.getGroundMapsUrl())
+            .groundLat(coordinates[0])
+            .groundLng(coordinates[1])
+            .groundGeohash(coordinates[0] != null && coordinates[1] != null
+                ? GeoHash.encode(coordinates[0], coordinates[1], NearbyMatchIndex.STORED_PRECISION)
+                : null)
+            .overs(dto.getOvers())
+            .feePerPerson(dto.getFeePerPerson())
+            .emergencyFee(dto.getEmergencyFee())
+            .requiredPlayers(dto.getRequiredPlayers())
+            .backupSlots(dto.getBackupSlots())
+            .emergencyEnabled(dto.getEmergencyEnabled())
+            .emergencySlots(dto.getEmergencySlots())
+            .status(MatchStatus.CREATED)
+            .startTime(startTime)
+            .seriesId(seriesId)
+            .build();
+    }
+
     @Override
     public MatchResponseDto getMatch(UUID matchId, Long userId) {
-        Match match = matchRepository.findById(matchId)
-            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+        return toMatchResponse(matchRosterCache.get(matchId, this::loadRosterSnapshot), userId);
+    }
+
+    @Override
+    public MatchResponseDto getMatch(UUID matchId, Long userId, String versionTag) {
+        MatchRosterSnapshot snapshot = matchRosterCache.get(matchId, this::loadRosterSnapshot);
+        if (!versionTag.equals(matchVersionTag(snapshot.match(), userId))) {
+            // Changed on another pod since this snapshot was cached; the local invalidation never fired
+            log.debug("Roster snapshot for match {} is behind its version tag, reloading", matchId);
+            matchRosterCache.invalidate(matchId);
+            snapshot = matchRosterCache.get(matchId, this::loadRosterSnapshot);
+        }
+        return toMatchResponse(snapshot, userId);
+    }
+
+    private MatchResponseDto toMatchResponse(MatchRosterSnapshot snapshot, Long userId) {
+        MatchRosterSnapshot.MatchFields match = snapshot.match();
+        UUID matchId = match.id();
+        List<MatchRosterSnapshot.RosterEntry> participants = snapshot.participants();
 
         boolean isCaptain = userId != null && match.isCaptain(userId);
-        List<MatchParticipant> participants = participantRepository.findByMatchId(match.getId());
 
         log.info("Fetched match {} for user {}: isCaptain={}, participants={}",
             matchId, userId, isCaptain, participants.size());
@@ -108,62 +222,50 @@ public class MatchServiceImpl implements MatchService {
         boolean isConfirmedParticipant = false;
         if (userId != null && !isCaptain) {
             isConfirmedParticipant = participants.stream().anyMatch(p ->
-                p.getUserId().equals(userId) && p.getStatus() == ParticipantStatus.CONFIRMED);
+                p.userId().equals(userId) && p.status() == ParticipantStatus.CONFIRMED);
         }
 
-      long teamCount = participants.stream()
-    .filter(p -> p.getRole() == ParticipantRole.TEAM && p.getStatus() == ParticipantStatus.CONFIRMED)
-    .count();
-long backupCount = participants.stream()
-    .filter(p -> p.getRole() == ParticipantRole.BACKUP && p.getStatus() == ParticipantStatus.CONFIRMED)
-    .count();
-long emergencyCount = participants.stream()
-    .filter(p -> p.getRole() == ParticipantRole.EMERGENCY && p.getStatus() == ParticipantStatus.CONFIRMED)
-    .count();
-
         MatchResponseDto.MatchResponseDtoBuilder responseBuilder = MatchResponseDto.builder()
-            .matchId(match.getId())
-            .teamName(match.getTeamName())
-            .eventType(match.getEventType())
-            .ballCategory(match.getBallCategory())
-            .ballVariant(match.getBallVariant())
-            .groundMapsUrl(match.getGroundMapsUrl())
-            .groundLat(match.getGroundLat())
-            .groundLng(match.getGroundLng())
-            .overs(match.getOvers())
-            .feePerPerson(match.getFeePerPerson())
-            .emergencyFee(match.getEmergencyFee())
-            .requiredPlayers(match.getRequiredPlayers())
-            .backupSlots(match.getBackupSlots())
-            .emergencyEnabled(match.getEmergencyEnabled())
-            .status(match.getStatus())
-            .startTime(match.getStartTime())
-            .createdAt(match.getCreatedAt())
-            .teamCount((int) teamCount)
-            .backupCount((int) backupCount)
-            .emergencyCount((int) emergencyCount);
+            .matchId(match.id())
+            .teamName(match.teamName())
+            .eventType(match.eventType())
+            .ballCategory(match.ballCategory())
+            .ballVariant(match.ballVariant())
+            .groundMapsUrl(match.groundMapsUrl())
+            .groundLat(match.groundLat())
+            .groundLng(match.groundLng())
+            .overs(match.overs())
+            .feePerPerson(match.feePerPerson())
+            .emergencyFee(match.emergencyFee())
+            .requiredPlayers(match.requiredPlayers())
+            .backupSlots(match.backupSlots())
+            .emergencyEnabled(match.emergencyEnabled())
+            .emergencySlots(match.emergencySlots())
+            .status(match.status())
+            .startTime(match.startTime())
+            .createdAt(match.createdAt())
+            .teamCount(match.teamCount())
+            .backupCount(match.backupCount())
+            .emergencyCount(match.emergencyCount());
 
         // Captain-only fields
         if (isCaptain) {
-            MvpUser captain = mvpUserRepository.findById(match.getCreatedBy())
-                .orElse(null);
+            UserContact captain = snapshot.captain();
 
             if (captain != null) {
                 responseBuilder
-                    .captainId(captain.getId())
-                    .captainName(captain.getName())
-                    .captainPhone(captain.getPhoneNumber());
+                    .captainId(captain.id())
+                    .captainName(captain.name())
+                    .captainPhone(captain.phoneNumber());
             }
             // Full participant list for captain
-            List<MatchResponseDto.ParticipantDto> participantDtos = participants.stream()
-                .map(this::mapParticipantToDto)
-                .collect(Collectors.toList());
-
-            responseBuilder.participants(participantDtos);
+            responseBuilder.participants(participants.stream()
+                .map(this::toFullDto)
+                .collect(Collectors.toList()));
         } else if (isConfirmedParticipant) {
             // Limited participant list for confirmed participants (name only, no sensitive info)
             List<MatchResponseDto.ParticipantDto> participantDtos = participants.stream()
-                .map(this::mapParticipantToLimitedDto)
+                .map(this::toLimitedDto)
                 .collect(Collectors.toList());
 
             responseBuilder.participants(participantDtos);
@@ -173,10 +275,52 @@ long emergencyCount = participants.stream()
         return responseBuilder.build();
     }
 
+    /**
+     * Load match, captain and full participant details for the roster cache
+     */
+    private MatchRosterSnapshot loadRosterSnapshot(UUID matchId) {
+        Match match = matchRepository.findById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+
+        List<MatchParticipant> participants = participantRepository.findByMatchId(matchId);
+
+        // Resolve captain and all participants in one bulk lookup
+        Set<Long> userIds = participants.stream()
+            .map(MatchParticipant::getUserId)
+            .collect(Collectors.toSet());
+        userIds.add(match.getCreatedBy());
+        Map<Long, UserContact> users = mvpUserDirectory.resolve(userIds);
+
+        List<MatchRosterSnapshot.RosterEntry> entries = participants.stream()
+            .map(p -> MatchRosterSnapshot.RosterEntry.from(p, users.get(p.getUserId())))
+            .collect(Collectors.toList());
+
+        return new MatchRosterSnapshot(
+            MatchRosterSnapshot.MatchFields.from(match), users.get(match.getCreatedBy()), entries);
+    }
+
+    @Override
+    public NearbyMatchesResponseDto getNearbyMatches(double lat, double lng, double radiusKm, int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180 || radiusKm <= 0) {
+            throw new MvpException(MvpError.INVALID_LOCATION);
+        }
+        double radius = Math.min(radiusKm, maxNearbyRadiusKm);
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<NearbyMatchDto> matches = nearbyMatchIndex.findNearby(lat, lng, radius, size);
+        log.info("Nearby matches: lat={}, lng={}, radiusKm={}, found={}", lat, lng, radius, matches.size());
+
+        return NearbyMatchesResponseDto.builder()
+            .radiusKm(radius)
+            .matches(matches)
+            .build();
+    }
+
     @Override
     @Transactional
     public void respondYes(UUID matchId, Long userId) {
-        Match match = matchRepository.findById(matchId)
+        // Lock the match row: concurrent YES responses for the same match allocate slots one at a time
+        Match match = matchRepository.lockById(matchId)
             .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
 
         // Check match status
@@ -192,26 +336,28 @@ long emergencyCount = participants.stream()
             // Idempotent: update existing participant
             MatchParticipant participant = existingParticipant.get();
             if (participant.getStatus() == ParticipantStatus.BACKED_OUT) {
+                // Rejoining takes whichever slot is free now, not the one given up
+                MatchCounterDelta before = MatchCounterDelta.of(participant);
+                ParticipantRole role = allocateRole(match);
+                participant.setRole(role);
                 participant.setStatus(ParticipantStatus.CONFIRMED);
+                // The fee follows the new role (e.g. a former emergency player now on the team);
+                // an amount already paid is kept as the record of what was collected
+                if (participant.getPaymentStatus() != PaymentStatus.PAID) {
+                    participant.setFeeAmount(match.feeFor(role));
+                }
                 participantRepository.save(participant);
-                log.info("User {} rejoined match {}", userId, matchId);
+                matchCounterService.apply(matchId, MatchCounterDelta.of(participant).minus(before));
+                eventPublisher.publishEvent(
+                    new MatchChangedEvent(matchId, MatchChangeType.PARTICIPANT_JOINED, userId));
+                log.info("User {} rejoined match {} with role {}", userId, matchId, participant.getRole());
             } else {
                 log.debug("User {} already confirmed for match {}", userId, matchId);
             }
             return;
         }
 
-        // Determine role based on current participant count
-        long confirmedCount = participantRepository.countConfirmedByMatchId(matchId);
-        ParticipantRole role;
-
-        if (confirmedCount < match.getRequiredPlayers()) {
-            role = ParticipantRole.TEAM;
-        } else if (confirmedCount < match.getRequiredPlayers() + match.getBackupSlots()) {
-            role = ParticipantRole.BACKUP;
-        } else {
-            throw new MvpException(MvpError.MATCH_FULL);
-        }
+        ParticipantRole role = allocateRole(match);
 
         // Create participant
         MatchParticipant participant = MatchParticipant.builder()
@@ -219,11 +365,13 @@ long emergencyCount = participants.stream()
             .userId(userId)
             .role(role)
             .status(ParticipantStatus.CONFIRMED)
-            .feeAmount(match.getFeePerPerson())
+            .feeAmount(match.feeFor(role))
             .paymentStatus(PaymentStatus.UNPAID)
             .build();
 
         participantRepository.save(participant);
+        matchCounterService.apply(matchId, MatchCounterDelta.of(participant));
+        eventPublisher.publishEvent(new MatchChangedEvent(matchId, MatchChangeType.PARTICIPANT_JOINED, userId));
         log.info("User {} confirmed for match {} with role {}", userId, matchId, role);
 
         // Remove from unavailability if previously declined
@@ -231,17 +379,36 @@ long emergencyCount = participants.stream()
             .ifPresent(unavailabilityRepository::delete);
     }
 
+    /**
+     * Pick TEAM while team slots remain, then BACKUP, otherwise the match is full.
+     * Must be called with the match row locked (see findByIdForUpdate), which makes
+     * the match's live counters exact for the duration of the transaction.
+     */
+    private ParticipantRole allocateRole(Match match) {
+        if (match.getTeamCount() < match.getRequiredPlayers()) {
+            return ParticipantRole.TEAM;
+        }
+        if (match.getBackupCount() < match.getBackupSlots()) {
+            return ParticipantRole.BACKUP;
+        }
+        throw new MvpException(MvpError.MATCH_FULL);
+    }
+
     @Override
     @Transactional
     public void respondNo(UUID matchId, Long userId) {
-        Match match = matchRepository.findById(matchId)
+        // Lock the match row: concurrent NO taps must not both see CONFIRMED and release the slot twice
+        Match match = matchRepository.lockById(matchId)
             .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
 
         // Remove from participants if exists
         participantRepository.findByMatchIdAndUserId(matchId, userId)
             .ifPresent(participant -> {
+                MatchCounterDelta before = MatchCounterDelta.of(participant);
                 participant.setStatus(ParticipantStatus.BACKED_OUT);
                 participantRepository.save(participant);
+                matchCounterService.apply(matchId, MatchCounterDelta.of(participant).minus(before));
+                eventPublisher.publishEvent(new MatchChangedEvent(matchId, MatchChangeType.PARTICIPANT_LEFT, userId));
             });
 
         // Mark as unavailable
@@ -259,7 +426,8 @@ long emergencyCount = participants.stream()
     @Override
     @Transactional
     public void completeMatch(UUID matchId, Long captainId) {
-        Match match = matchRepository.findById(matchId)
+        // Lock the match row: a double completion sees COMPLETED instead of recording the fee twice
+        Match match = matchRepository.lockById(matchId)
             .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
 
         // Verify captain
@@ -275,16 +443,13 @@ long emergencyCount = participants.stream()
         // Update status
         match.setStatus(MatchStatus.COMPLETED);
         matchRepository.save(match);
+        eventPublisher.publishEvent(MatchChangedEvent.of(matchId, MatchChangeType.MATCH_COMPLETED));
 
-        // Record platform fee
-        if (!platformFeeLogRepository.existsByMatchId(matchId)) {
-            PlatformFeeLog feeLog = PlatformFeeLog.builder()
-                .matchId(matchId)
-                .amount(platformFee)
-                .status("RECORDED")
-                .build();
+        // Everyone still confirmed showed up; credit their trust scores
+        trustScoreService.recordAttendance(matchId, match.getStartTime());
 
-            platformFeeLogRepository.save(feeLog);
+        // Record platform fee; at most one per match
+        if (platformFeeLogRepository.recordFee(matchId, platformFee) > 0) {
             log.info("Platform fee recorded for match {}: ₹{}", matchId, platformFee);
         }
 
@@ -305,21 +470,51 @@ long emergencyCount = participants.stream()
         // Update status
         match.setStatus(MatchStatus.CANCELLED);
         matchRepository.save(match);
+        eventPublisher.publishEvent(MatchChangedEvent.of(matchId, MatchChangeType.MATCH_CANCELLED));
 
         log.info("Match {} cancelled by captain {}", matchId, captainId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getMatchVersionTag(UUID matchId, Long userId) {
+        MatchVersionView version = matchRepository.findVersionById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+        return VersionTags.weak("m", version.getUpdatedAt(), version.getRosterVersion(), userId);
+    }
+
+    // Same components as getMatchVersionTag, taken from a cached snapshot
+    private static String matchVersionTag(MatchRosterSnapshot.MatchFields match, Long userId) {
+        return VersionTags.weak("m", match.updatedAt(), match.rosterVersion(), userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getMyGamesVersionTag(Long userId) {
+        MyGamesVersionView version = matchRepository.findMyGamesVersion(userId);
+        return VersionTags.weak("g", userId,
+            version.getGameCount(), version.getLastUpdatedAt(), version.getVersionSum());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getMyGamesPageVersionTag(Long userId, MyGamesScope scope, String cursor, int limit) {
+        MyGamesVersionView version = matchRepository.findMyGamesVersion(userId);
+        return VersionTags.weak("p", userId,
+            version.getGameCount(), version.getLastUpdatedAt(), version.getVersionSum(), scope, cursor, limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MyGamesResponseDto getMyGames(Long userId) {
-        // Fetch all matches where user is captain or participant
-        List<Match> matches = matchRepository.findAllUserMatches(userId);
+        // Fetch all matches with the user's own participation and role counts in one query
+        List<MyGameSummaryView> rows = matchRepository.findMyGameSummaries(userId);
 
-        log.info("Found {} matches for user {}", matches.size(), userId);
+        log.info("Found {} matches for user {}", rows.size(), userId);
 
         // Convert to DTOs
-        List<MyGamesResponseDto.GameSummaryDto> gameSummaries = matches.stream()
-            .map(match -> buildGameSummary(match, userId))
+        List<MyGamesResponseDto.GameSummaryDto> gameSummaries = rows.stream()
+            .map(row -> buildGameSummary(row, userId))
             .collect(Collectors.toList());
 
         // Calculate stats
@@ -343,10 +538,67 @@ long emergencyCount = participants.stream()
             .build();
     }
 
-    private MyGamesResponseDto.GameSummaryDto buildGameSummary(Match match, Long userId) {
+    @Override
+    @Transactional(readOnly = true)
+    public MyGamesPageResponseDto getMyGamesPage(Long userId, MyGamesScope scope, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean firstPage = cursor == null || cursor.isBlank();
+        // Fetch one extra row to learn whether another page exists
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+
+        List<MyGameSummaryView> rows;
+        if (scope == MyGamesScope.UPCOMING) {
+            KeysetCursor after = firstPage ? FIRST_ASC_CURSOR : KeysetCursor.decode(cursor);
+            rows = matchRepository.findMyGameSummariesAfter(
+                userId, scope.getStatuses(), after.startTime(), after.id(), fetch);
+        } else {
+            KeysetCursor before = firstPage ? FIRST_DESC_CURSOR : KeysetCursor.decode(cursor);
+            rows = matchRepository.findMyGameSummariesBefore(
+                userId, scope.getStatuses(), before.startTime(), before.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<MyGamesResponseDto.GameSummaryDto> games = rows.stream()
+            .map(row -> buildGameSummary(row, userId))
+            .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            MyGameSummaryView last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor(last.getStartTime(), last.getMatchId()).encode();
+        }
+
+        MyGamesPageResponseDto.MyGamesPageResponseDtoBuilder response = MyGamesPageResponseDto.builder()
+            .scope(scope)
+            .games(games)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore);
+
+        // Summary counts from a separate aggregate query, first page only
+        if (firstPage) {
+            Map<MatchStatus, Long> byStatus = matchRepository.countUserMatchesByStatus(userId).stream()
+                .collect(Collectors.toMap(MatchStatusCountView::getStatus, MatchStatusCountView::getCount));
+
+            response
+                .totalCount((int) byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .upcomingCount((int) (byStatus.getOrDefault(MatchStatus.CREATED, 0L)
+                    + byStatus.getOrDefault(MatchStatus.ACTIVE, 0L)))
+                .completedCount(byStatus.getOrDefault(MatchStatus.COMPLETED, 0L).intValue())
+                .cancelledCount(byStatus.getOrDefault(MatchStatus.CANCELLED, 0L).intValue());
+        }
+
+        log.info("My games page for user {}: scope={}, size={}, hasMore={}",
+            userId, scope, games.size(), hasMore);
+        return response.build();
+    }
+
+    private MyGamesResponseDto.GameSummaryDto buildGameSummary(MyGameSummaryView row, Long userId) {
         // Determine user's role
-        boolean isCaptain = match.isCaptain(userId);
-        Optional<MatchParticipant> userParticipant = participantRepository.findByMatchIdAndUserId(match.getId(), userId);
+        boolean isCaptain = row.getCreatedBy().equals(userId);
 
         String userRole;
         String paymentStatus = null;
@@ -355,77 +607,62 @@ long emergencyCount = participants.stream()
 
         if (isCaptain) {
             userRole = "CAPTAIN";
-        } else if (userParticipant.isPresent()) {
-            MatchParticipant participant = userParticipant.get();
-            userRole = participant.getRole().name();
-            paymentStatus = participant.getPaymentStatus().name();
-            paymentMode = participant.getPaymentMode() != null ? participant.getPaymentMode().name() : null;
-            feeAmount = participant.getFeeAmount();
+        } else if (row.getUserRole() != null) {
+            userRole = row.getUserRole().name();
+            paymentStatus = row.getPaymentStatus().name();
+            paymentMode = row.getPaymentMode() != null ? row.getPaymentMode().name() : null;
+            feeAmount = row.getFeeAmount();
         } else {
             // Shouldn't happen, but handle gracefully
             userRole = "UNKNOWN";
         }
 
-        // Get participant counts
-        long teamCount = participantRepository.countByMatchIdAndRoleAndStatus(
-            match.getId(), ParticipantRole.TEAM, ParticipantStatus.CONFIRMED);
-        long backupCount = participantRepository.countByMatchIdAndRoleAndStatus(
-            match.getId(), ParticipantRole.BACKUP, ParticipantStatus.CONFIRMED);
-        long emergencyCount = participantRepository.countByMatchIdAndRoleAndStatus(
-            match.getId(), ParticipantRole.EMERGENCY, ParticipantStatus.CONFIRMED);
-
         return MyGamesResponseDto.GameSummaryDto.builder()
-            .matchId(match.getId())
-            .teamName(match.getTeamName())
-            .eventType(match.getEventType())
-            .ballCategory(match.getBallCategory())
-            .ballVariant(match.getBallVariant())
-            .overs(match.getOvers())
-            .status(match.getStatus())
-            .startTime(match.getStartTime())
-            .groundMapsUrl(match.getGroundMapsUrl())
-            .groundLat(match.getGroundLat())
-            .groundLng(match.getGroundLng())
-            .feePerPerson(match.getFeePerPerson())
-            .emergencyFee(match.getEmergencyFee())
+            .matchId(row.getMatchId())
+            .teamName(row.getTeamName())
+            .eventType(row.getEventType())
+            .ballCategory(row.getBallCategory())
+            .ballVariant(row.getBallVariant())
+            .overs(row.getOvers())
+            .status(row.getStatus())
+            .startTime(row.getStartTime())
+            .groundMapsUrl(row.getGroundMapsUrl())
+            .groundLat(row.getGroundLat())
+            .groundLng(row.getGroundLng())
+            .feePerPerson(row.getFeePerPerson())
+            .emergencyFee(row.getEmergencyFee())
             .userRole(userRole)
             .isCaptain(isCaptain)
-            .teamCount((int) teamCount)
-            .backupCount((int) backupCount)
-            .emergencyCount((int) emergencyCount)
-            .requiredPlayers(match.getRequiredPlayers())
-            .backupSlots(match.getBackupSlots())
+            .teamCount(row.getTeamCount())
+            .backupCount(row.getBackupCount())
+            .emergencyCount(row.getEmergencyCount())
+            .requiredPlayers(row.getRequiredPlayers())
+            .backupSlots(row.getBackupSlots())
             .paymentStatus(paymentStatus)
             .paymentMode(paymentMode)
             .feeAmount(feeAmount)
             .build();
     }
 
-    private MatchResponseDto.ParticipantDto mapParticipantToDto(MatchParticipant participant) {
-        MvpUser user = mvpUserRepository.findById(participant.getUserId())
-            .orElse(null);
-
+    private MatchResponseDto.ParticipantDto toFullDto(MatchRosterSnapshot.RosterEntry participant) {
         return MatchResponseDto.ParticipantDto.builder()
-            .userId(participant.getUserId())
-            .name(user != null ? user.getName() : "Unknown")
-            .phoneNumber(user != null ? user.getPhoneNumber() : null)
-            .role(participant.getRole())
-            .status(participant.getStatus())
-            .feeAmount(participant.getFeeAmount())
-            .paymentStatus(participant.getPaymentStatus())
-            .paymentMode(participant.getPaymentMode())
+            .userId(participant.userId())
+            .name(participant.name())
+            .phoneNumber(participant.phoneNumber())
+            .role(participant.role())
+            .status(participant.status())
+            .feeAmount(participant.feeAmount())
+            .paymentStatus(participant.paymentStatus())
+            .paymentMode(participant.paymentMode())
             .build();
     }
 
-    private MatchResponseDto.ParticipantDto mapParticipantToLimitedDto(MatchParticipant participant) {
-        MvpUser user = mvpUserRepository.findById(participant.getUserId())
-            .orElse(null);
-
+    private MatchResponseDto.ParticipantDto toLimitedDto(MatchRosterSnapshot.RosterEntry participant) {
         return MatchResponseDto.ParticipantDto.builder()
-            .userId(participant.getUserId())
-            .name(user != null ? user.getName() : "Unknown")
-            .role(participant.getRole())
-            .status(participant.getStatus())
+            .userId(participant.userId())
+            .name(participant.name())
+            .role(participant.role())
+            .status(participant.status())
             .build();
     }
 }
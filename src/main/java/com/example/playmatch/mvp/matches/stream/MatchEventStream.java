@@ -0,0 +1,282 @@
+package com.example.playmatch.mvp.matches.stream;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.matches.dto.MatchResponseDto;
+import com.example.playmatch.mvp.matches.dto.MatchStreamEventDto;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.service.MatchService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-pod registry of captain SSE subscriptions.
+ * Committed match changes are fanned out to the subscribers of that match through a small sender pool;
+ * every connection has a bounded buffer and is closed when a slow client lets it overflow.
+ * Events are rendered into immutable frames before they are queued: an SseEventBuilder appends to
+ * itself on every build(), so one builder must never be sent from several sender threads.
+ */
+@Component
+@Slf4j
+public class MatchEventStream {
+
+    private static final String EVENT_NAME = "match-change";
+
+    private final MatchRepository matchRepository;
+    private final MatchService matchService;
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerMatch;
+    private final long timeoutMillis;
+
+    public MatchEventStream(
+        MatchRepository matchRepository,
+        MatchService matchService,
+        @Value("${app.mvp.stream.sender-threads:4}") int senderThreads,
+        @Value("${app.mvp.stream.buffer-size:32}") int bufferSize,
+        @Value("${app.mvp.stream.max-subscribers:500}") int maxSubscribers,
+        @Value("${app.mvp.stream.max-subscribers-per-match:5}") int maxSubscribersPerMatch,
+        @Value("${app.mvp.stream.timeout-minutes:30}") long timeoutMinutes
+    ) {
+        this.matchRepository = matchRepository;
+        this.matchService = matchService;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerMatch = maxSubscribersPerMatch;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(maxSubscribers * 2),
+            r -> {
+                Thread t = new Thread(r, "mvp-sse-" + threadIndex.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    public SseEmitter subscribe(UUID matchId, Long userId) {
+        Match match = matchRepository.findById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+        if (!match.isCaptain(userId)) {
+            throw new MvpException(MvpError.NOT_CAPTAIN);
+        }
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new MvpException(MvpError.STREAM_LIMIT_REACHED);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(matchId, userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        // Check and add under the map's per-key lock, which remove() also takes, so concurrent
+        // subscribes cannot overshoot the limit and never add to a set remove() has just dropped
+        try {
+            subscribers.compute(matchId, (id, matchSubscribers) -> {
+                Set<Subscriber> current = matchSubscribers != null ? matchSubscribers : ConcurrentHashMap.newKeySet();
+                if (current.size() >= maxSubscribersPerMatch) {
+                    throw new MvpException(MvpError.STREAM_LIMIT_REACHED);
+                }
+                current.add(subscriber);
+                return current;
+            });
+        } catch (MvpException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.offer(frame(SseEmitter.event().comment("connected")));
+        log.info("Match event stream opened: matchId={}, userId={}, subscribers={}",
+            matchId, userId, subscriberCount.get());
+        return emitter;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        Set<Subscriber> matchSubscribers = subscribers.get(event.matchId());
+        if (matchSubscribers == null || matchSubscribers.isEmpty()) {
+            return;
+        }
+        // Build the delta off the committing request thread; one payload is shared by all subscribers of the match
+        submit(() -> publish(event, matchSubscribers));
+    }
+
+    @Scheduled(fixedRateString = "${app.mvp.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> heartbeat = frame(SseEmitter.event().comment("heartbeat"));
+        subscribers.values().forEach(matchSubscribers ->
+            matchSubscribers.forEach(subscriber -> subscriber.offer(heartbeat)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(matchSubscribers ->
+            matchSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void publish(MatchChangedEvent event, Set<Subscriber> matchSubscribers) {
+        Subscriber first = matchSubscribers.stream().findFirst().orElse(null);
+        if (first == null) {
+            return;
+        }
+
+        MatchStreamEventDto payload;
+        try {
+            payload = buildPayload(event, first.userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build match stream event: matchId={}, type={}", event.matchId(), event.type(), e);
+            return;
+        }
+
+        Set<DataWithMediaType> sseEvent = frame(SseEmitter.event()
+            .name(EVENT_NAME)
+            .data(payload, MediaType.APPLICATION_JSON));
+        matchSubscribers.forEach(subscriber -> subscriber.offer(sseEvent));
+    }
+
+    // Build once on the publishing thread; the read-only frame is then safe to share across subscribers
+    static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder event) {
+        return Collections.unmodifiableSet(event.build());
+    }
+
+    private MatchStreamEventDto buildPayload(MatchChangedEvent event, Long captainId) {
+        // Captain view of the roster snapshot; the cache entry was already invalidated by this commit
+        MatchResponseDto match = matchService.getMatch(event.matchId(), captainId);
+
+        MatchResponseDto.ParticipantDto participant = null;
+        if (event.userId() != null && event.type().isRosterChange() && match.getParticipants() != null) {
+            participant = match.getParticipants().stream()
+                .filter(p -> p.getUserId().equals(event.userId()))
+                .findFirst()
+                .orElse(null);
+        }
+
+        return MatchStreamEventDto.builder()
+            .matchId(event.matchId())
+            .type(event.type())
+            .userId(event.userId())
+            .occurredAt(OffsetDateTime.now())
+            .teamCount(match.getTeamCount())
+            .backupCount(match.getBackupCount())
+            .emergencyCount(match.getEmergencyCount())
+            .participant(participant)
+            .build();
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            senders.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Match event stream sender pool saturated, dropping task");
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.matchId, (id, matchSubscribers) -> {
+            matchSubscribers.remove(subscriber);
+            return matchSubscribers.isEmpty() ? null : matchSubscribers;
+        });
+        subscriberCount.decrementAndGet();
+        log.info("Match event stream closed: matchId={}, userId={}", subscriber.matchId, subscriber.userId);
+    }
+
+    private final class Subscriber {
+        private final UUID matchId;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(UUID matchId, Long userId, SseEmitter emitter,
+                           BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.matchId = matchId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("Match event stream buffer overflow, closing: matchId={}, userId={}", matchId, userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        // A rejected drain must release the flag, otherwise no later offer would ever schedule one
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true) && !submit(this::drain)) {
+                draining.set(false);
+            }
+        }
+
+        // At most one drain per subscriber runs at a time, so a slow client holds one sender thread at most
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Match event stream send failed: matchId={}, userId={}", matchId, userId);
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !buffer.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+}
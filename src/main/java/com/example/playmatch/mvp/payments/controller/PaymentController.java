@@ -2,14 +2,19 @@ package com.example.playmatch.mvp.payments.controller;
 
 import com.example.playmatch.mvp.auth.security.CurrentMvpUser;
 import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.payments.dto.BulkMarkPaymentDto;
+import com.example.playmatch.mvp.payments.dto.BulkPaymentResultDto;
 import com.example.playmatch.mvp.payments.dto.MarkPaymentDto;
 import com.example.playmatch.mvp.payments.dto.PaymentTrackingDto;
 import com.example.playmatch.mvp.payments.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -34,16 +39,36 @@ public class PaymentController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping
+    public ResponseEntity<BulkPaymentResultDto> markPayments(
+        @PathVariable UUID matchId,
+        @Valid @RequestBody BulkMarkPaymentDto dto
+    ) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Mark payments: matchId={}, count={}, captainId={}",
+            matchId, dto.getPayments().size(), captainId);
+
+        BulkPaymentResultDto result = paymentService.markPayments(matchId, dto.getPayments(), captainId);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/tracking")
     public ResponseEntity<PaymentTrackingDto> getPaymentTracking(
         @PathVariable UUID matchId,
-        @RequestParam(required = false) PaymentStatus filterStatus
+        @RequestParam(required = false) PaymentStatus filterStatus,
+        @RequestParam(defaultValue = "true") boolean includePlayers,
+        WebRequest webRequest
     ) {
         Long userId = CurrentMvpUser.getUserId();
-        log.info("Get payment tracking: matchId={}, userId={}, filterStatus={}",
-            matchId, userId, filterStatus);
+        log.info("Get payment tracking: matchId={}, userId={}, filterStatus={}, includePlayers={}",
+            matchId, userId, filterStatus, includePlayers);
+
+        String etag = paymentService.getPaymentTrackingVersionTag(matchId, userId, filterStatus, includePlayers);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
-        PaymentTrackingDto tracking = paymentService.getPaymentTracking(matchId, userId, filterStatus);
-        return ResponseEntity.ok(tracking);
+        PaymentTrackingDto tracking = paymentService.getPaymentTracking(matchId, userId, filterStatus, includePlayers);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(tracking);
     }
 }
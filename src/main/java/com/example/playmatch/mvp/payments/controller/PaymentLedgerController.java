@@ -0,0 +1,30 @@
+package com.example.playmatch.mvp.payments.controller;
+
+import com.example.playmatch.mvp.auth.security.CurrentMvpUser;
+import com.example.playmatch.mvp.payments.dto.CaptainLedgerDto;
+import com.example.playmatch.mvp.payments.service.PaymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v2/mvp/payments")
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentLedgerController {
+
+    private final PaymentService paymentService;
+
+    @GetMapping("/ledger")
+    public ResponseEntity<CaptainLedgerDto> getCaptainLedger(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        Long captainId = CurrentMvpUser.getUserId();
+        log.info("Get captain ledger: captainId={}, page={}, size={}", captainId, page, size);
+
+        CaptainLedgerDto ledger = paymentService.getCaptainLedger(captainId, page, size);
+        return ResponseEntity.ok(ledger);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.playmatch.mvp.payments.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMarkPaymentDto {
+    @NotEmpty(message = "At least one payment is required")
+    @Size(max = 50, message = "At most 50 payments per request")
+    private List<@Valid MarkPaymentDto> payments;
+}
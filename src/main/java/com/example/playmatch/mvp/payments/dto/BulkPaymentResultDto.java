@@ -0,0 +1,26 @@
+package com.example.playmatch.mvp.payments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentResultDto {
+    private List<Long> successIds;
+    private List<FailedItem> failed;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FailedItem {
+        private Long userId;
+        private String reason;
+    }
+}
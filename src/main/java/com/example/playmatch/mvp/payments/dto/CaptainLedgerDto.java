@@ -0,0 +1,38 @@
+package com.example.playmatch.mvp.payments.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Page of players who owe a captain money, aggregated across all of the captain's matches
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptainLedgerDto {
+    private Integer totalOwed;
+    private Integer page;
+    private Integer size;
+    private Long totalPlayers;
+    private Integer totalPages;
+    private List<EntryDto> entries;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryDto {
+        private Long userId;
+        private String playerName;
+        private String phoneNumber;
+        private Integer unpaidMatches;
+        private Integer owedAmount;
+        private OffsetDateTime oldestUnpaidMatchAt;
+    }
+}
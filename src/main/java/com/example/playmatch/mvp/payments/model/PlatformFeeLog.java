@@ -11,12 +11,21 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "platform_fee_log")
+@Table(name = "platform_fee_log",
+        indexes = {
+            @Index(name = "idx_platform_fee_log_status_id", columnList = "status, id"),
+            @Index(name = "idx_platform_fee_log_match", columnList = "match_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class PlatformFeeLog {
+    // Written by completeMatch; PlatformFeeReconciliationService moves it to RECONCILED or DISPUTED
+    public static final String STATUS_RECORDED = "RECORDED";
+    public static final String STATUS_RECONCILED = "RECONCILED";
+    public static final String STATUS_DISPUTED = "DISPUTED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,7 +43,14 @@ public class PlatformFeeLog {
 
     @Column(name = "status", nullable = false, length = 20)
     @Builder.Default
-    private String status = "RECORDED";
+    private String status = STATUS_RECORDED;
+
+    @Column(name = "reconciled_at")
+    private OffsetDateTime reconciledAt;
+
+    // Why a fee was DISPUTED
+    @Column(name = "reconcile_note", length = 100)
+    private String reconcileNote;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
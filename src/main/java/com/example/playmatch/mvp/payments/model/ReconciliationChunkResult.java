@@ -0,0 +1,11 @@
+package com.example.playmatch.mvp.payments.model;
+
+/**
+ * Outcome of reconciling one chunk of platform fees
+ *
+ * @param reconciled Fees moved to RECONCILED
+ * @param disputed   Fees moved to DISPUTED
+ * @param done       True when the walk reached the end of the table (checkpoint reset for the next run)
+ */
+public record ReconciliationChunkResult(int reconciled, int disputed, boolean done) {
+}
@@ -0,0 +1,9 @@
+package com.example.playmatch.mvp.payments.repository;
+
+import com.example.playmatch.mvp.payments.model.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
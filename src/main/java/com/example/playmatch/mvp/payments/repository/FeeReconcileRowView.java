@@ -0,0 +1,10 @@
+package com.example.playmatch.mvp.payments.repository;
+
+/**
+ * A RECORDED platform fee with what reconciliation needs to know about its match
+ */
+public interface FeeReconcileRowView {
+    Long getId();
+    String getMatchStatus();    // null when the match row is missing
+    Boolean getDuplicate();     // an older fee row exists for the same match
+}
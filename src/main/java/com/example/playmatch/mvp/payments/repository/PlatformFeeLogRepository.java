@@ -2,8 +2,15 @@ package com.example.playmatch.mvp.payments.repository;
 
 import com.example.playmatch.mvp.payments.model.PlatformFeeLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +18,63 @@ import java.util.UUID;
 public interface PlatformFeeLogRepository extends JpaRepository<PlatformFeeLog, Long> {
     Optional<PlatformFeeLog> findByMatchId(UUID matchId);
     boolean existsByMatchId(UUID matchId);
+
+    /**
+     * Next keyset chunk of RECORDED fees after :afterId, joined to their match (idx_platform_fee_log_status_id)
+     */
+    @Query(value = """
+        SELECT f.id AS id, m.status AS matchStatus,
+               EXISTS (SELECT 1 FROM platform_fee_log d WHERE d.match_id = f.match_id AND d.id < f.id) AS duplicate
+        FROM platform_fee_log f
+        LEFT JOIN match m ON m.id = f.match_id
+        WHERE f.status = 'RECORDED' AND f.id > :afterId
+        ORDER BY f.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<FeeReconcileRowView> findReconcileChunk(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Settle RECORDED fees; rows already moved by a concurrent run are left alone
+     */
+    @Modifying
+    @Query("""
+        UPDATE PlatformFeeLog f SET f.status = :status, f.reconcileNote = :note, f.reconciledAt = :now
+        WHERE f.id IN :ids AND f.status = 'RECORDED'
+        """)
+    int settle(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") String status,
+        @Param("note") String note,
+        @Param("now") OffsetDateTime now
+    );
+
+    /**
+     * Record the fee for a match unless it already has one. Callers hold the match row lock, so the
+     * NOT EXISTS check cannot race another insert for the same match.
+     *
+     * @return 1 if recorded, 0 if the match already had a fee
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO platform_fee_log (match_id, amount, status, created_at)
+        SELECT :matchId, :amount, 'RECORDED', now()
+        WHERE NOT EXISTS (SELECT 1 FROM platform_fee_log f WHERE f.match_id = :matchId)
+        """, nativeQuery = true)
+    int recordFee(@Param("matchId") UUID matchId, @Param("amount") int amount);
+
+    /**
+     * Record the fee for up to :limit completed matches that have none. completeMatch records the fee
+     * in the same transaction that sets COMPLETED, so a match this sees as completed already has its fee
+     * unless it predates fee recording; the job lock keeps runs from overlapping.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO platform_fee_log (match_id, amount, status, created_at)
+        SELECT m.id, :amount, 'RECORDED', now() FROM match m
+        WHERE m.status = 'COMPLETED'
+          AND NOT EXISTS (SELECT 1 FROM platform_fee_log f WHERE f.match_id = m.id)
+        LIMIT :limit
+        """, nativeQuery = true)
+    int recordMissingFees(@Param("amount") int amount, @Param("limit") int limit);
 }
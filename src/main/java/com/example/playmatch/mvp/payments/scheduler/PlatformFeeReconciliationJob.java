@@ -0,0 +1,98 @@
+package com.example.playmatch.mvp.payments.scheduler;
+
+import com.example.playmatch.mvp.common.lock.JobLock;
+import com.example.playmatch.mvp.payments.model.ReconciliationChunkResult;
+import com.example.playmatch.mvp.payments.service.PlatformFeeReconciliationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class PlatformFeeReconciliationJob {
+
+    private static final String JOB_NAME = "platform-fee-reconciliation";
+
+    private final PlatformFeeReconciliationService reconciliationService;
+    private final JobLock jobLock;
+    private final Counter reconciledCounter;
+    private final Counter disputedCounter;
+    private final Counter recordedMissingCounter;
+    private final Timer runTimer;
+    private final int chunkSize;
+
+    public PlatformFeeReconciliationJob(
+        PlatformFeeReconciliationService reconciliationService,
+        JobLock jobLock,
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.platform-fee-reconciliation.chunk-size:1000}") int chunkSize
+    ) {
+        this.reconciliationService = reconciliationService;
+        this.jobLock = jobLock;
+        this.chunkSize = chunkSize;
+        this.reconciledCounter = Counter.builder("mvp.platform_fee.reconciled")
+            .tag("outcome", "reconciled")
+            .description("Platform fees settled by reconciliation")
+            .register(meterRegistry);
+        this.disputedCounter = Counter.builder("mvp.platform_fee.reconciled")
+            .tag("outcome", "disputed")
+            .description("Platform fees settled by reconciliation")
+            .register(meterRegistry);
+        this.recordedMissingCounter = Counter.builder("mvp.platform_fee.recorded_missing")
+            .description("Platform fees recorded for completed matches that had none")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("mvp.platform_fee.reconciliation.run")
+            .description("Duration of a platform fee reconciliation run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reconcile RECORDED platform fees against their matches
+     * Runs daily at 04:00 by default; each chunk commits with its checkpoint, so an interrupted run resumes.
+     * The schedule fires on every instance but only the one holding the job lock runs; the others skip.
+     */
+    @Scheduled(cron = "${app.mvp.platform-fee-reconciliation.cron:0 0 4 * * *}")
+    public void reconcile() {
+        jobLock.runExclusively(JOB_NAME, this::runReconciliation);
+    }
+
+    private void runReconciliation() {
+        long started = System.nanoTime();
+
+        // Completed matches without a fee get one first, so this run reconciles it
+        int recordedMissing = 0;
+        int inserted;
+        do {
+            inserted = reconciliationService.recordMissingFees(chunkSize);
+            recordedMissing += inserted;
+        } while (inserted == chunkSize);
+
+        int reconciled = 0;
+        int disputed = 0;
+        int chunks = 0;
+        ReconciliationChunkResult chunk;
+        do {
+            chunk = reconciliationService.reconcileChunk(chunkSize);
+            chunks++;
+            reconciled += chunk.reconciled();
+            disputed += chunk.disputed();
+        } while (!chunk.done());
+
+        long elapsedNanos = System.nanoTime() - started;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        reconciledCounter.increment(reconciled);
+        disputedCounter.increment(disputed);
+        recordedMissingCounter.increment(recordedMissing);
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        log.info("Platform fee reconciliation: reconciled={}, disputed={}, recordedMissing={} in {} chunk(s), "
+                + "{} ms ({} fees/s)",
+            reconciled, disputed, recordedMissing, chunks, elapsedMs, (reconciled + disputed) * 1000L / elapsedMs);
+    }
+}
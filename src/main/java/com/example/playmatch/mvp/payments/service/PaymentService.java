@@ -2,8 +2,12 @@ package com.example.playmatch.mvp.payments.service;
 
 import com.example.playmatch.mvp.matches.model.PaymentMode;
 import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.payments.dto.BulkPaymentResultDto;
+import com.example.playmatch.mvp.payments.dto.CaptainLedgerDto;
+import com.example.playmatch.mvp.payments.dto.MarkPaymentDto;
 import com.example.playmatch.mvp.payments.dto.PaymentTrackingDto;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface PaymentService {
@@ -17,13 +21,47 @@ public interface PaymentService {
      */
     void markPayment(UUID matchId, Long userId, PaymentMode paymentMode, Long captainId);
 
+    /**
+     * Mark payments for several participants in one transaction (captain only)
+     *
+     * @param matchId   Match ID
+     * @param payments  (userId, paymentMode) pairs
+     * @param captainId Captain marking the payments
+     * @return Users marked paid, and per-user failures
+     */
+    BulkPaymentResultDto markPayments(UUID matchId, List<MarkPaymentDto> payments, Long captainId);
+
     /**
      * Get payment tracking details for a match
      *
      * @param matchId       Match ID
      * @param requestUserId User requesting the data
-     * @param filterStatus  Optional filter by payment status (PAID/UNPAID)
+     * @param filterStatus   Optional filter by payment status (PAID/UNPAID)
+     * @param includePlayers Whether to load the per-player list; the summary alone is served from match counters
      * @return Payment tracking data (captain sees all, players see only their own)
      */
-    PaymentTrackingDto getPaymentTracking(UUID matchId, Long requestUserId, PaymentStatus filterStatus);
+    PaymentTrackingDto getPaymentTracking(UUID matchId, Long requestUserId, PaymentStatus filterStatus,
+                                          boolean includePlayers);
+
+    /**
+     * Get the ETag for payment tracking without loading participants (access is still verified)
+     *
+     * @param matchId       Match ID
+     * @param requestUserId User requesting the data
+     * @param filterStatus   Optional filter by payment status
+     * @param includePlayers Whether the response includes the per-player list
+     * @return Weak ETag covering the match row, its roster version, the viewer and the request options
+     */
+    String getPaymentTrackingVersionTag(UUID matchId, Long requestUserId, PaymentStatus filterStatus,
+                                        boolean includePlayers);
+
+    /**
+     * Players with unpaid fees across every match the captain created
+     *
+     * @param captainId Captain user ID
+     * @param page      Zero-based page number
+     * @param size      Page size (capped)
+     * @return Ledger page, largest debt first
+     */
+    CaptainLedgerDto getCaptainLedger(Long captainId, int page, int size);
 }
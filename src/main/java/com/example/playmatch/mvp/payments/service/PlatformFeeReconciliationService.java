@@ -0,0 +1,23 @@
+package com.example.playmatch.mvp.payments.service;
+
+import com.example.playmatch.mvp.payments.model.ReconciliationChunkResult;
+
+public interface PlatformFeeReconciliationService {
+    /**
+     * Reconcile the next chunk of RECORDED platform fees after the saved checkpoint, in one transaction.
+     * Fees of completed matches become RECONCILED; fees of cancelled, unfinished or missing matches,
+     * and repeat fees for the same match, become DISPUTED.
+     *
+     * @param chunkSize Max fees to process
+     * @return Chunk outcome
+     */
+    ReconciliationChunkResult reconcileChunk(int chunkSize);
+
+    /**
+     * Record the platform fee for completed matches that have none
+     *
+     * @param limit Max fees to record
+     * @return Number recorded
+     */
+    int recordMissingFees(int limit);
+}
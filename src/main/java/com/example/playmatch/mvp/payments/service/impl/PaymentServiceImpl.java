@@ -2,25 +2,43 @@ package com.example.playmatch.mvp.payments.service.impl;
 
 import com.example.playmatch.mvp.common.error.MvpError;
 import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.common.util.VersionTags;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
 import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
 import com.example.playmatch.mvp.matches.model.MatchParticipant;
 import com.example.playmatch.mvp.matches.model.PaymentMode;
 import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.matches.repository.LedgerEntryView;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantBatchRepository;
 import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
 import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchVersionView;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.dto.BulkPaymentResultDto;
+import com.example.playmatch.mvp.payments.dto.CaptainLedgerDto;
+import com.example.playmatch.mvp.payments.dto.MarkPaymentDto;
 import com.example.playmatch.mvp.payments.dto.PaymentTrackingDto;
 import com.example.playmatch.mvp.payments.dto.PlayerPaymentDto;
 import com.example.playmatch.mvp.payments.service.PaymentService;
-import com.example.playmatch.mvp.users.model.MvpUser;
-import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,9 +47,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final int MAX_LEDGER_PAGE_SIZE = 100;
+
     private final MatchRepository matchRepository;
     private final MatchParticipantRepository participantRepository;
-    private final MvpUserRepository mvpUserRepository;
+    private final MatchParticipantBatchRepository participantBatchRepository;
+    private final MvpUserDirectory mvpUserDirectory;
+    private final MatchCounterService matchCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -66,110 +89,221 @@ public class PaymentServiceImpl implements PaymentService {
             // Allow updating payment mode even if already paid
         }
 
-        // Mark as paid
-        participant.setPaymentStatus(PaymentStatus.PAID);
-        participant.setPaymentMode(paymentMode);
-        participantRepository.save(participant);
+        // Mark as paid through the same conditional UPDATE as the bulk path, so the counters move only
+        // if this call is the one that moved the row to PAID
+        OffsetDateTime now = OffsetDateTime.now();
+        MatchCounterDelta delta = MatchCounterDelta.ZERO;
+        for (int fee : participantBatchRepository.markPaid(matchId, List.of(userId), paymentMode, now)) {
+            delta = delta.plus(new MatchCounterDelta(0, 0, 0, 1, fee, 0, -fee));
+        }
+        if (delta.paid() == 0) {
+            participantRepository.updatePaidMode(matchId, List.of(userId), paymentMode, now);
+        }
+        matchCounterService.apply(matchId, delta);
+        eventPublisher.publishEvent(new MatchChangedEvent(matchId, MatchChangeType.PAYMENT_MARKED, userId));
 
         log.info("Payment marked: matchId={}, userId={}, mode={}, markedBy={}",
             matchId, userId, paymentMode, captainId);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public PaymentTrackingDto getPaymentTracking(UUID matchId, Long requestUserId, PaymentStatus filterStatus) {
+    @Transactional
+    public BulkPaymentResultDto markPayments(UUID matchId, List<MarkPaymentDto> payments, Long captainId) {
         Match match = matchRepository.findById(matchId)
             .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
 
-        boolean isCaptain = match.isCaptain(requestUserId);
+        // Verify captain
+        if (!match.isCaptain(captainId)) {
+            throw new MvpException(MvpError.NOT_CAPTAIN);
+        }
+
+        Set<Long> userIds = payments.stream().map(MarkPaymentDto::getUserId).collect(Collectors.toSet());
+        Map<Long, MatchParticipant> participants = participantRepository.findByMatchIdAndUserIdIn(matchId, userIds)
+            .stream()
+            .collect(Collectors.toMap(MatchParticipant::getUserId, p -> p));
+
+        List<Long> successIds = new ArrayList<>();
+        List<BulkPaymentResultDto.FailedItem> failed = new ArrayList<>();
+        // One UPDATE per payment mode present; HashMap because the mode may be null
+        Map<PaymentMode, List<Long>> userIdsByMode = new HashMap<>();
+        Map<PaymentMode, List<Long>> paidUserIdsByMode = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (MarkPaymentDto payment : payments) {
+            Long userId = payment.getUserId();
+            if (!seen.add(userId)) {
+                failed.add(failedItem(userId, "Duplicate entry for user"));
+                continue;
+            }
+
+            MatchParticipant participant = participants.get(userId);
+            if (participant == null) {
+                failed.add(failedItem(userId, "Participant not found"));
+                continue;
+            }
 
-        // Verify user has access to this match (either captain or participant)
-        if (!isCaptain) {
-            Optional<MatchParticipant> requestingUser = participantRepository.findByMatchIdAndUserId(matchId, requestUserId);
-            if (requestingUser.isEmpty()) {
-                throw new MvpException(MvpError.PARTICIPANT_NOT_FOUND);
+            if (participant.getPaymentStatus() == PaymentStatus.PAID) {
+                log.warn("Payment already marked as PAID: matchId={}, userId={}, currentMode={}",
+                    matchId, userId, participant.getPaymentMode());
+                // Allow updating payment mode even if already paid
+                paidUserIdsByMode.computeIfAbsent(payment.getPaymentMode(), m -> new ArrayList<>()).add(userId);
             }
+
+            userIdsByMode.computeIfAbsent(payment.getPaymentMode(), m -> new ArrayList<>()).add(userId);
+            successIds.add(userId);
         }
 
-        // Get all participants with user data eagerly loaded to avoid N+1 queries
-        List<MatchParticipant> participants = participantRepository.findByMatchIdWithUser(matchId);
-
-        // Handle empty participants list (no one has joined yet)
-        if (participants.isEmpty()) {
-            log.warn("No participants found for match: {}", matchId);
-            return PaymentTrackingDto.builder()
-                .totalPlayers(0)
-                .paidCount(0)
-                .unpaidCount(0)
-                .totalCollected(0)
-                .totalPending(0)
-                .players(new ArrayList<>())
-                .build();
+        if (!successIds.isEmpty()) {
+            OffsetDateTime now = OffsetDateTime.now();
+            // The delta comes from the rows the conditional UPDATE actually moved to PAID, so a participant
+            // paid concurrently after the read above is not counted twice
+            MatchCounterDelta delta = MatchCounterDelta.ZERO;
+            for (Map.Entry<PaymentMode, List<Long>> entry : userIdsByMode.entrySet()) {
+                for (int fee : participantBatchRepository.markPaid(matchId, entry.getValue(), entry.getKey(), now)) {
+                    delta = delta.plus(new MatchCounterDelta(0, 0, 0, 1, fee, 0, -fee));
+                }
+            }
+            paidUserIdsByMode.forEach((mode, ids) -> participantRepository.updatePaidMode(matchId, ids, mode, now));
+            matchCounterService.apply(matchId, delta);
+            eventPublisher.publishEvent(MatchChangedEvent.of(matchId, MatchChangeType.PAYMENT_MARKED));
         }
 
-        // Apply filter if provided
-        if (filterStatus != null) {
-            participants = participants.stream()
-                .filter(p -> p.getPaymentStatus() == filterStatus)
-                .collect(Collectors.toList());
+        log.info("Bulk payments marked: matchId={}, marked={}, failed={}, markedBy={}",
+            matchId, successIds.size(), failed.size(), captainId);
+        return BulkPaymentResultDto.builder()
+            .successIds(successIds)
+            .failed(failed)
+            .build();
+    }
+
+    private static BulkPaymentResultDto.FailedItem failedItem(Long userId, String reason) {
+        return BulkPaymentResultDto.FailedItem.builder()
+            .userId(userId)
+            .reason(reason)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getPaymentTrackingVersionTag(UUID matchId, Long requestUserId, PaymentStatus filterStatus,
+                                               boolean includePlayers) {
+        MatchVersionView version = matchRepository.findVersionById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+
+        if (!version.getCreatedBy().equals(requestUserId)
+            && !participantRepository.existsByMatchIdAndUserId(matchId, requestUserId)) {
+            throw new MvpException(MvpError.PARTICIPANT_NOT_FOUND);
         }
 
-        // Build player payment DTOs based on access level
-        List<PlayerPaymentDto> playerPayments;
-        if (isCaptain) {
-            // Captain sees all players
-            playerPayments = participants.stream()
-                .map(this::mapToPlayerPaymentDto)
-                .collect(Collectors.toList());
-        } else {
+        return VersionTags.weak("pay", version.getUpdatedAt(), version.getRosterVersion(),
+            requestUserId, filterStatus, includePlayers);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentTrackingDto getPaymentTracking(UUID matchId, Long requestUserId, PaymentStatus filterStatus,
+                                                 boolean includePlayers) {
+        Match match = matchRepository.findById(matchId)
+            .orElseThrow(() -> new MvpException(MvpError.MATCH_NOT_FOUND));
+
+        if (!match.isCaptain(requestUserId)) {
             // Regular player sees only their own payment info
-            playerPayments = participants.stream()
-                .filter(p -> p.getUserId().equals(requestUserId))
-                .map(this::mapToPlayerPaymentDto)
+            MatchParticipant self = participantRepository.findByMatchIdAndUserId(matchId, requestUserId)
+                .orElseThrow(() -> new MvpException(MvpError.PARTICIPANT_NOT_FOUND));
+            boolean paid = self.getPaymentStatus() == PaymentStatus.PAID;
+            PaymentTrackingDto.PaymentTrackingDtoBuilder summary = summary(filterStatus, 1, paid ? 1 : 0,
+                paid ? self.getFeeAmount() : 0, paid ? 0 : self.getFeeAmount());
+
+            if (includePlayers) {
+                List<PlayerPaymentDto> players = filterStatus == null || self.getPaymentStatus() == filterStatus
+                    ? List.of(mapToPlayerPaymentDto(self, mvpUserDirectory.find(requestUserId).orElse(null)))
+                    : List.of();
+                summary.players(players);
+            }
+            return summary.build();
+        }
+
+        // Captain summary comes from the match's live counters, without loading participant rows
+        PaymentTrackingDto.PaymentTrackingDtoBuilder summary = summary(filterStatus, match.getParticipantCount(),
+            match.getPaidCount(), match.getCollectedAmount(), match.getPendingAmount());
+
+        if (includePlayers) {
+            // User details are resolved in bulk to avoid N+1 queries
+            List<MatchParticipant> participants = participantRepository.findByMatchId(matchId).stream()
+                .filter(p -> filterStatus == null || p.getPaymentStatus() == filterStatus)
                 .collect(Collectors.toList());
+            Map<Long, UserContact> users = mvpUserDirectory.resolve(
+                participants.stream().map(MatchParticipant::getUserId).collect(Collectors.toSet()));
+            summary.players(participants.stream()
+                .map(p -> mapToPlayerPaymentDto(p, users.get(p.getUserId())))
+                .collect(Collectors.toList()));
         }
+        return summary.build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CaptainLedgerDto getCaptainLedger(Long captainId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_LEDGER_PAGE_SIZE)));
+        Page<LedgerEntryView> rows = participantRepository.findCaptainLedger(captainId, pageRequest);
 
-        // Calculate summary stats (based on all participants for captain, only self for player)
-        List<MatchParticipant> statsBase = isCaptain ? participants :
-            participants.stream().filter(p -> p.getUserId().equals(requestUserId)).collect(Collectors.toList());
-
-        int totalPlayers = statsBase.size();
-        int paidCount = (int) statsBase.stream().filter(p -> p.getPaymentStatus() == PaymentStatus.PAID).count();
-        int unpaidCount = totalPlayers - paidCount;
-        int totalCollected = statsBase.stream()
-            .filter(p -> p.getPaymentStatus() == PaymentStatus.PAID)
-            .mapToInt(MatchParticipant::getFeeAmount)
-            .sum();
-        int totalPending = statsBase.stream()
-            .filter(p -> p.getPaymentStatus() == PaymentStatus.UNPAID)
-            .mapToInt(MatchParticipant::getFeeAmount)
-            .sum();
+        Map<Long, UserContact> users = mvpUserDirectory.resolve(
+            rows.stream().map(LedgerEntryView::getUserId).collect(Collectors.toSet()));
+        List<CaptainLedgerDto.EntryDto> entries = rows.stream()
+            .map(row -> {
+                UserContact user = users.get(row.getUserId());
+                return CaptainLedgerDto.EntryDto.builder()
+                    .userId(row.getUserId())
+                    .playerName(user != null && user.name() != null ? user.name() : "Unknown")
+                    .phoneNumber(user != null ? user.phoneNumber() : null)
+                    .unpaidMatches(row.getMatchCount().intValue())
+                    .owedAmount(row.getOwedAmount().intValue())
+                    .oldestUnpaidMatchAt(row.getOldestMatchAt())
+                    .build();
+            })
+            .collect(Collectors.toList());
 
-        return PaymentTrackingDto.builder()
-            .totalPlayers(totalPlayers)
-            .paidCount(paidCount)
-            .unpaidCount(unpaidCount)
-            .totalCollected(totalCollected)
-            .totalPending(totalPending)
-            .players(playerPayments)
+        return CaptainLedgerDto.builder()
+            .totalOwed(participantRepository.sumOwedToCaptain(captainId).intValue())
+            .page(rows.getNumber())
+            .size(rows.getSize())
+            .totalPlayers(rows.getTotalElements())
+            .totalPages(rows.getTotalPages())
+            .entries(entries)
             .build();
     }
 
-    private PlayerPaymentDto mapToPlayerPaymentDto(MatchParticipant participant) {
-        // Try to use eagerly loaded user first, fallback to fetching if needed
-        MvpUser user = participant.getUser();
-
-        // Fallback: fetch user if not eagerly loaded (shouldn't happen with findByMatchIdWithUser)
-        if (user == null) {
-            user = mvpUserRepository.findById(participant.getUserId()).orElse(null);
+    /**
+     * Summary stats restricted to the filtered payment status
+     */
+    private static PaymentTrackingDto.PaymentTrackingDtoBuilder summary(
+        PaymentStatus filterStatus, int players, int paid, int collected, int pending
+    ) {
+        int unpaid = players - paid;
+        if (filterStatus == PaymentStatus.PAID) {
+            unpaid = 0;
+            pending = 0;
+            players = paid;
+        } else if (filterStatus == PaymentStatus.UNPAID) {
+            paid = 0;
+            collected = 0;
+            players = unpaid;
         }
+        return PaymentTrackingDto.builder()
+            .totalPlayers(players)
+            .paidCount(paid)
+            .unpaidCount(unpaid)
+            .totalCollected(collected)
+            .totalPending(pending);
+    }
 
+    private PlayerPaymentDto mapToPlayerPaymentDto(MatchParticipant participant, UserContact user) {
         String playerName = "Unknown";
         String phoneNumber = null;
 
         if (user != null) {
-            playerName = user.getName() != null ? user.getName() : "Unknown";
-            phoneNumber = user.getPhoneNumber();
+            playerName = user.name() != null ? user.name() : "Unknown";
+            phoneNumber = user.phoneNumber();
         } else {
             log.warn("User not found for participant: userId={}, matchId={}",
                 participant.getUserId(), participant.getMatchId());
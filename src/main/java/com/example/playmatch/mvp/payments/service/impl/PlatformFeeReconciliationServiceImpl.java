@@ -0,0 +1,94 @@
+package com.example.playmatch.mvp.payments.service.impl;
+
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.payments.model.BatchCheckpoint;
+import com.example.playmatch.mvp.payments.model.PlatformFeeLog;
+import com.example.playmatch.mvp.payments.model.ReconciliationChunkResult;
+import com.example.playmatch.mvp.payments.repository.BatchCheckpointRepository;
+import com.example.playmatch.mvp.payments.repository.FeeReconcileRowView;
+import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
+import com.example.playmatch.mvp.payments.service.PlatformFeeReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformFeeReconciliationServiceImpl implements PlatformFeeReconciliationService {
+
+    private static final String JOB_NAME = "platform-fee-reconciliation";
+
+    private final PlatformFeeLogRepository platformFeeLogRepository;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+
+    @Value("${app.mvp.platform-fee:50}")
+    private Integer platformFee;
+
+    @Override
+    @Transactional
+    public ReconciliationChunkResult reconcileChunk(int chunkSize) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(JOB_NAME)
+            .orElseGet(() -> BatchCheckpoint.builder().jobName(JOB_NAME).lastId(0L).build());
+
+        List<FeeReconcileRowView> rows = platformFeeLogRepository.findReconcileChunk(checkpoint.getLastId(), chunkSize);
+
+        // Group ids by (status, note) so the chunk is settled with a handful of UPDATEs
+        List<Long> reconciled = new ArrayList<>();
+        Map<String, List<Long>> disputedByNote = new LinkedHashMap<>();
+        for (FeeReconcileRowView row : rows) {
+            String note = disputeNote(row);
+            if (note == null) {
+                reconciled.add(row.getId());
+            } else {
+                disputedByNote.computeIfAbsent(note, n -> new ArrayList<>()).add(row.getId());
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        int reconciledCount = reconciled.isEmpty() ? 0
+            : platformFeeLogRepository.settle(reconciled, PlatformFeeLog.STATUS_RECONCILED, null, now);
+        int disputedCount = 0;
+        for (Map.Entry<String, List<Long>> entry : disputedByNote.entrySet()) {
+            disputedCount += platformFeeLogRepository.settle(
+                entry.getValue(), PlatformFeeLog.STATUS_DISPUTED, entry.getKey(), now);
+        }
+
+        // A short chunk means the walk is complete; start from the beginning next run so fees
+        // committed out of id order (concurrent completeMatch transactions) are not skipped
+        boolean done = rows.size() < chunkSize;
+        checkpoint.setLastId(done ? 0L : rows.get(rows.size() - 1).getId());
+        batchCheckpointRepository.save(checkpoint);
+
+        return new ReconciliationChunkResult(reconciledCount, disputedCount, done);
+    }
+
+    @Override
+    public int recordMissingFees(int limit) {
+        return platformFeeLogRepository.recordMissingFees(platformFee, limit);
+    }
+
+    private static String disputeNote(FeeReconcileRowView row) {
+        if (Boolean.TRUE.equals(row.getDuplicate())) {
+            return "Duplicate fee for match";
+        }
+        if (row.getMatchStatus() == null) {
+            return "Match not found";
+        }
+        if (MatchStatus.CANCELLED.name().equals(row.getMatchStatus())) {
+            return "Match cancelled";
+        }
+        if (!MatchStatus.COMPLETED.name().equals(row.getMatchStatus())) {
+            return "Match not completed";
+        }
+        return null;
+    }
+}
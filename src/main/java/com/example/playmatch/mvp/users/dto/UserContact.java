@@ -0,0 +1,13 @@
+package com.example.playmatch.mvp.users.dto;
+
+import com.example.playmatch.mvp.users.model.MvpUser;
+
+/**
+ * Lightweight, immutable view of the user fields needed by DTO mappers
+ */
+public record UserContact(Long id, String name, String phoneNumber, String area) {
+
+    public static UserContact from(MvpUser user) {
+        return new UserContact(user.getId(), user.getName(), user.getPhoneNumber(), user.getArea());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.playmatch.mvp.users.service;
+
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk resolution of MVP user names and phone numbers for DTO mapping.
+ * Misses are loaded with a single IN query; a small bounded near-cache
+ * absorbs repeat lookups of the same players.
+ * <p>
+ * The near-cache is per pod. {@link #evict} only clears the pod that served the
+ * profile update; other pods keep the old name/phone/area until their entry
+ * expires ({@code app.mvp.cache.users.ttl-minutes}), so that TTL is the upper
+ * bound on cross-pod staleness of profile edits.
+ */
+@Component
+@Slf4j
+public class MvpUserDirectory {
+
+    private final MvpUserRepository mvpUserRepository;
+    private final Cache<Long, UserContact> cache;
+
+    public MvpUserDirectory(
+        MvpUserRepository mvpUserRepository,
+        MeterRegistry meterRegistry,
+        @Value("${app.mvp.cache.users.max-size:10000}") long maxSize,
+        @Value("${app.mvp.cache.users.ttl-minutes:10}") long ttlMinutes
+    ) {
+        this.mvpUserRepository = mvpUserRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mvp.user.directory");
+    }
+
+    /**
+     * Resolve users by ID. Unknown IDs are absent from the result.
+     *
+     * @param userIds User IDs (duplicates and nulls are ignored)
+     * @return Map of user ID to contact details
+     */
+    public Map<Long, UserContact> resolve(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, this::loadAll);
+    }
+
+    /**
+     * Resolve a single user
+     *
+     * @param userId User ID
+     * @return Contact details if the user exists
+     */
+    public Optional<UserContact> find(Long userId) {
+        return Optional.ofNullable(resolve(List.of(userId)).get(userId));
+    }
+
+    /**
+     * Drop a cached entry after the user's profile changes.
+     * Local to this pod only; see the class comment.
+     *
+     * @param userId User ID
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private Map<Long, UserContact> loadAll(Set<? extends Long> missing) {
+        log.debug("Loading {} user(s) into directory", missing.size());
+        List<Long> ids = List.copyOf(missing);
+        return mvpUserRepository.findAllById(ids).stream()
+            .map(UserContact::from)
+            .collect(Collectors.toMap(UserContact::id, Function.identity()));
+    }
+}
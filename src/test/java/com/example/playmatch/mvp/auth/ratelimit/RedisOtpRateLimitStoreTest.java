@@ -0,0 +1,56 @@
+package com.example.playmatch.mvp.auth.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisOtpRateLimitStoreTest {
+
+    private static final int MAX_REQUESTS = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StringRedisTemplate redisTemplate;
+    private RedisOtpRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        store = new RedisOtpRateLimitStore(redisTemplate, meterRegistry, 10, MAX_REQUESTS, 1_000);
+    }
+
+    @Test
+    void redisDecidesWhileAvailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L, 0L);
+
+        assertThat(store.tryAcquire("+911234567890")).isTrue();
+        assertThat(store.tryAcquire("+911234567890")).isFalse();
+        assertThat(meterRegistry.counter("mvp.otp.rate_limit.fallback").count()).isZero();
+    }
+
+    @Test
+    void outageFallsBackToTheLocalWindowInsteadOfFailingOpen() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        List<Boolean> results = List.of(
+            store.tryAcquire("+911234567890"),
+            store.tryAcquire("+911234567890"),
+            store.tryAcquire("+911234567890"),
+            store.tryAcquire("+911234567890"));
+
+        assertThat(results).containsExactly(true, true, true, false);
+        assertThat(store.tryAcquire("+919876543210")).isTrue();
+        assertThat(meterRegistry.counter("mvp.otp.rate_limit.fallback").count()).isEqualTo(5);
+    }
+}
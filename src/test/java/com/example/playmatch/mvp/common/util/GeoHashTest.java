@@ -0,0 +1,34 @@
+package com.example.playmatch.mvp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    void prefixEndIncrementsTheLastSymbol() {
+        assertThat(GeoHash.prefixEnd("tdr1", 9)).isEqualTo("tdr2");
+        assertThat(GeoHash.prefixEnd("tdr9", 9)).isEqualTo("tdrb");
+    }
+
+    @Test
+    void prefixEndCarriesOverTrailingLastSymbols() {
+        assertThat(GeoHash.prefixEnd("tdrz", 9)).isEqualTo("tds");
+        assertThat(GeoHash.prefixEnd("tzzz", 9)).isEqualTo("u");
+        assertThat(GeoHash.prefixEnd("zzzz", 9)).isEqualTo("zzzzzzzzzz");
+    }
+
+    @Test
+    void prefixRangeContainsExactlyTheCell() {
+        String cell = GeoHash.encode(12.9716, 77.5946, 4);
+        String end = GeoHash.prefixEnd(cell, 9);
+        String inside = GeoHash.encode(12.9716, 77.5946, 9);
+        String outside = GeoHash.encode(13.5, 78.5, 9);
+
+        assertThat(inside.compareTo(cell)).isGreaterThanOrEqualTo(0);
+        assertThat(inside.compareTo(end)).isNegative();
+        assertThat(outside.startsWith(cell)).isFalse();
+        assertThat(outside.compareTo(cell) < 0 || outside.compareTo(end) >= 0).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.playmatch.mvp.emergency.pool;
+
+import com.example.playmatch.mvp.emergency.model.EmergencyPool;
+import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmergencyPoolIndexConcurrencyTest {
+
+    private static final int USERS = 20;
+
+    @Test
+    void concurrentUpdatesLeaveOneCandidatePerUser() throws Exception {
+        EmergencyPoolRepository repository = mock(EmergencyPoolRepository.class);
+        when(repository.findAll()).thenAnswer(inv -> members(50));
+        EmergencyPoolIndex index = new EmergencyPoolIndex(repository);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            // Trust score events and removals racing periodic rebuilds
+            for (int t = 0; t < 8; t++) {
+                int worker = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        if (worker == 0 && i % 100 == 0) {
+                            index.rebuild();
+                        } else if (i % 7 == 0) {
+                            index.remove((long) ThreadLocalRandom.current().nextInt(USERS));
+                        } else {
+                            index.update(member(ThreadLocalRandom.current().nextInt(USERS),
+                                ThreadLocalRandom.current().nextInt(101)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        index.rebuild();
+        List<PoolCandidate> area = index.window("Indiranagar", 0, 1_000);
+        assertThat(area).hasSize(USERS);
+        assertThat(area).extracting(PoolCandidate::userId).doesNotHaveDuplicates();
+        assertThat(area).extracting(PoolCandidate::trustScore).containsOnly(50);
+    }
+
+    private static List<EmergencyPool> members(int trustScore) {
+        List<EmergencyPool> members = new ArrayList<>(USERS);
+        for (int userId = 0; userId < USERS; userId++) {
+            members.add(member(userId, trustScore));
+        }
+        return members;
+    }
+
+    private static EmergencyPool member(long userId, int trustScore) {
+        EmergencyPool member = new EmergencyPool();
+        member.setUserId(userId);
+        member.setArea("Indiranagar");
+        member.setActive(true);
+        member.setTrustScore(trustScore);
+        return member;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.playmatch.mvp.emergency.scheduler;
+
+import com.example.playmatch.mvp.backout.repository.BackoutLogRepository;
+import com.example.playmatch.mvp.common.lock.JobLock;
+import com.example.playmatch.mvp.emergency.pool.EmergencyPoolIndex;
+import com.example.playmatch.mvp.emergency.repository.EmergencyPoolRepository;
+import com.example.playmatch.mvp.emergency.repository.TrustScoreBatchRepository;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overlapping backfills: JobLock is simulated with an in-memory flag standing in for the advisory lock
+ */
+class TrustScoreBackfillJobTest {
+
+    private final AtomicBoolean held = new AtomicBoolean();
+    private final CountDownLatch insideRebuild = new CountDownLatch(1);
+    private final CountDownLatch releaseRebuild = new CountDownLatch(1);
+
+    private TrustScoreBatchRepository trustScoreBatchRepository;
+    private TrustScoreBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        JobLock jobLock = mock(JobLock.class);
+        when(jobLock.runExclusively(eq("trust-score-backfill"), any())).thenAnswer(inv -> {
+            if (!held.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                inv.<Runnable>getArgument(1).run();
+                return true;
+            } finally {
+                held.set(false);
+            }
+        });
+
+        BackoutLogRepository backoutLogRepository = mock(BackoutLogRepository.class);
+        when(backoutLogRepository.findMaxId()).thenReturn(0L);
+        when(backoutLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any()))
+            .thenReturn(List.of());
+        MatchParticipantRepository participantRepository = mock(MatchParticipantRepository.class);
+        when(participantRepository.findMaxId()).thenReturn(0L);
+        when(participantRepository.findAttendanceChunk(anyLong(), anyLong(), any())).thenReturn(List.of());
+
+        trustScoreBatchRepository = mock(TrustScoreBatchRepository.class);
+        doAnswer(inv -> {
+            insideRebuild.countDown();
+            assertThat(releaseRebuild.await(5, TimeUnit.SECONDS)).isTrue();
+            return null;
+        }).when(trustScoreBatchRepository).deleteAll();
+
+        job = new TrustScoreBackfillJob(
+            backoutLogRepository,
+            participantRepository,
+            trustScoreBatchRepository,
+            mock(EmergencyPoolRepository.class),
+            mock(TrustScoreService.class),
+            mock(EmergencyPoolIndex.class),
+            jobLock);
+        ReflectionTestUtils.setField(job, "chunkSize", 100);
+    }
+
+    @Test
+    void secondBackfillIsSkippedWhileOneIsRunning() throws Exception {
+        Thread first = new Thread(job::backfill);
+        first.start();
+        assertThat(insideRebuild.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(job.backfill()).isFalse();
+
+        releaseRebuild.countDown();
+        first.join(5_000);
+        verify(trustScoreBatchRepository, times(1)).deleteAll();
+
+        // The lock is free again once the first run finishes
+        assertThat(job.backfill()).isTrue();
+        verify(trustScoreBatchRepository, times(2)).deleteAll();
+    }
+}
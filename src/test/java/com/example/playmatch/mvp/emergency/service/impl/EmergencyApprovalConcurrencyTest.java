@@ -0,0 +1,369 @@
+package com.example.playmatch.mvp.emergency.service.impl;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.emergency.model.EmergencyRequest;
+import com.example.playmatch.mvp.emergency.model.EmergencyRequestStatus;
+import com.example.playmatch.mvp.emergency.pool.EmergencyPoolIndex;
+import com.example.playmatch.mvp.emergency.repository.EmergencyRequestRepository;
+import com.example.playmatch.mvp.emergency.scheduler.EmergencyLockExpiryEngine;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
+import com.example.playmatch.mvp.matches.model.MatchParticipant;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent emergency approvals and rejections against in-memory repositories. findByIdForUpdate holds a lock
+ * until the simulated transaction ends (the match row lock); request rows carry a version that
+ * saveAndFlush checks and the expiry UPDATE bumps, as @Version and expireIfDue do in Postgres.
+ */
+class EmergencyApprovalConcurrencyTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+    private static final Long CAPTAIN_ID = 1L;
+
+    private final ReentrantLock rowLock = new ReentrantLock();
+    private final Map<Long, EmergencyRequest> requests = new ConcurrentHashMap<>();
+    private final Map<Long, MatchParticipant> participants = new ConcurrentHashMap<>();
+    private final AtomicInteger emergencyCount = new AtomicInteger();
+    private volatile Runnable afterRequestRead = () -> { };
+
+    private Match stored;
+    private EmergencyServiceImpl emergencyService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        stored = Match.builder()
+            .id(MATCH_ID)
+            .createdBy(CAPTAIN_ID)
+            .status(MatchStatus.CREATED)
+            .startTime(OffsetDateTime.now().plusDays(1))
+            .feePerPerson(200)
+            .emergencyFee(300)
+            .emergencyEnabled(true)
+            .emergencySlots(2)
+            .build();
+
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        when(matchRepository.lockById(any())).thenCallRealMethod();
+        when(matchRepository.findByIdForUpdate(MATCH_ID)).thenAnswer(inv -> {
+            rowLock.lock();
+            Match copy = Match.builder()
+                .id(MATCH_ID)
+                .createdBy(stored.getCreatedBy())
+                .status(stored.getStatus())
+                .startTime(stored.getStartTime())
+                .feePerPerson(stored.getFeePerPerson())
+                .emergencyFee(stored.getEmergencyFee())
+                .emergencyEnabled(true)
+                .emergencySlots(stored.getEmergencySlots())
+                .build();
+            copy.setEmergencyCount(emergencyCount.get());
+            return Optional.of(copy);
+        });
+
+        when(matchRepository.findById(MATCH_ID)).thenAnswer(inv -> Optional.of(Match.builder()
+            .id(MATCH_ID)
+            .createdBy(stored.getCreatedBy())
+            .status(stored.getStatus())
+            .build()));
+
+        EmergencyRequestRepository requestRepository = mock(EmergencyRequestRepository.class);
+        when(requestRepository.findById(anyLong())).thenAnswer(inv -> {
+            EmergencyRequest row = requests.get(inv.<Long>getArgument(0));
+            Optional<EmergencyRequest> copy;
+            synchronized (row) {
+                copy = Optional.of(copyOf(row));
+            }
+            afterRequestRead.run();
+            return copy;
+        });
+        when(requestRepository.saveAndFlush(any(EmergencyRequest.class))).thenAnswer(inv -> {
+            EmergencyRequest update = inv.getArgument(0);
+            EmergencyRequest row = requests.get(update.getId());
+            synchronized (row) {
+                if (!row.getVersion().equals(update.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(EmergencyRequest.class, update.getId());
+                }
+                row.setStatus(update.getStatus());
+                row.setApprovedAt(update.getApprovedAt());
+                row.setRejectedAt(update.getRejectedAt());
+                row.setVersion(row.getVersion() + 1);
+            }
+            return update;
+        });
+
+        MatchParticipantRepository participantRepository = mock(MatchParticipantRepository.class);
+        when(participantRepository.findByMatchIdAndUserId(eq(MATCH_ID), anyLong()))
+            .thenAnswer(inv -> Optional.ofNullable(participants.get(inv.<Long>getArgument(1))));
+        when(participantRepository.save(any(MatchParticipant.class))).thenAnswer(inv -> {
+            MatchParticipant participant = inv.getArgument(0);
+            participants.put(participant.getUserId(), participant);
+            return participant;
+        });
+
+        MatchCounterService matchCounterService = mock(MatchCounterService.class);
+        doAnswer(inv -> {
+            assertThat(rowLock.isHeldByCurrentThread()).isTrue();
+            emergencyCount.addAndGet(inv.<MatchCounterDelta>getArgument(1).emergency());
+            return null;
+        }).when(matchCounterService).apply(eq(MATCH_ID), any());
+
+        emergencyService = new EmergencyServiceImpl(
+            requestRepository,
+            matchRepository,
+            participantRepository,
+            mock(MvpUserDirectory.class),
+            matchCounterService,
+            mock(ApplicationEventPublisher.class),
+            mock(EmergencyLockExpiryEngine.class),
+            mock(EmergencyPoolIndex.class));
+
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void doubleApprovalAdmitsThePlayerOnce() throws Exception {
+        request(10L, 100L, OffsetDateTime.now().plusMinutes(30));
+
+        List<Throwable> failures = runConcurrently(16, i -> approve(10L));
+
+        assertThat(failures).isEmpty();
+        assertThat(requests.get(10L).getStatus()).isEqualTo(EmergencyRequestStatus.APPROVED);
+        assertThat(participants).containsOnlyKeys(100L);
+        assertThat(participants.get(100L).getRole()).isEqualTo(ParticipantRole.EMERGENCY);
+        assertThat(participants.get(100L).getFeeAmount()).isEqualTo(300);
+        assertThat(emergencyCount).hasValue(1);
+    }
+
+    @Test
+    void approvalsStopWhenEmergencySlotsAreExhausted() throws Exception {
+        for (long id = 1; id <= 12; id++) {
+            request(id, 100 + id, OffsetDateTime.now().plusMinutes(30));
+        }
+
+        List<Throwable> failures = runConcurrently(12, i -> approve(i + 1L));
+
+        assertThat(emergencyCount).hasValue(stored.getEmergencySlots());
+        assertThat(participants).hasSize(stored.getEmergencySlots());
+        assertThat(failures).hasSize(12 - stored.getEmergencySlots())
+            .allSatisfy(e -> assertThat(((MvpException) e).getError()).isEqualTo(MvpError.EMERGENCY_SLOTS_FULL));
+        assertThat(requests.values().stream().filter(r -> r.getStatus() == EmergencyRequestStatus.APPROVED))
+            .hasSize(stored.getEmergencySlots());
+    }
+
+    @Test
+    void expiryBetweenReadAndApprovalWins() {
+        request(20L, 200L, OffsetDateTime.now().plusSeconds(1));
+        // The expiry engine fires after the approval has read the still-open request
+        afterRequestRead = () -> expireIfDue(20L, OffsetDateTime.now().plusSeconds(2));
+
+        assertThatThrownBy(() -> approve(20L))
+            .isInstanceOfSatisfying(MvpException.class,
+                e -> assertThat(e.getError()).isEqualTo(MvpError.EMERGENCY_ALREADY_PROCESSED));
+
+        assertThat(requests.get(20L).getStatus()).isEqualTo(EmergencyRequestStatus.EXPIRED);
+        assertThat(participants).isEmpty();
+        assertThat(emergencyCount).hasValue(0);
+    }
+
+    @Test
+    void approvalsRacingExpiryNeverLeaveBothOutcomes() throws Exception {
+        stored.setEmergencySlots(1_000);
+        int count = 200;
+        OffsetDateTime now = OffsetDateTime.now();
+        for (long id = 1; id <= count; id++) {
+            request(id, 1_000 + id, now.plusNanos(ThreadLocalRandom.current().nextLong(0, 20_000_000)));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?> expiry = executor.submit(() -> {
+            start.await();
+            for (int sweep = 0; sweep < 50; sweep++) {
+                for (long id = 1; id <= count; id++) {
+                    expireIfDue(id, OffsetDateTime.now());
+                }
+            }
+            return null;
+        });
+        List<Throwable> failures = runConcurrently(count, start, i -> approve(i + 1L));
+        expiry.get(30, TimeUnit.SECONDS);
+
+        Set<MvpError> allowed = Set.of(MvpError.EMERGENCY_LOCK_EXPIRED, MvpError.EMERGENCY_ALREADY_PROCESSED);
+        assertThat(failures).allSatisfy(e -> assertThat(allowed).contains(((MvpException) e).getError()));
+
+        long approved = 0;
+        for (long id = 1; id <= count; id++) {
+            EmergencyRequest request = requests.get(id);
+            boolean admitted = participants.containsKey(request.getUserId());
+            assertThat(request.getStatus()).isIn(EmergencyRequestStatus.APPROVED, EmergencyRequestStatus.EXPIRED,
+                EmergencyRequestStatus.REQUESTED);
+            assertThat(admitted).isEqualTo(request.getStatus() == EmergencyRequestStatus.APPROVED);
+            approved += admitted ? 1 : 0;
+        }
+        assertThat(emergencyCount).hasValue((int) approved);
+        assertThat(failures).hasSize(count - (int) approved);
+    }
+
+    @Test
+    void rejectAfterExpiryIsAlreadyProcessed() {
+        request(30L, 300L, OffsetDateTime.now().plusSeconds(1));
+        afterRequestRead = () -> expireIfDue(30L, OffsetDateTime.now().plusSeconds(2));
+
+        assertThatThrownBy(() -> emergencyService.rejectRequest(MATCH_ID, 30L, CAPTAIN_ID))
+            .isInstanceOfSatisfying(MvpException.class,
+                e -> assertThat(e.getError()).isEqualTo(MvpError.EMERGENCY_ALREADY_PROCESSED));
+
+        assertThat(requests.get(30L).getStatus()).isEqualTo(EmergencyRequestStatus.EXPIRED);
+    }
+
+    @Test
+    void rejectRacingApprovalHasOneWinner() throws Exception {
+        for (long id = 1; id <= 50; id++) {
+            request(id, 100 + id, OffsetDateTime.now().plusMinutes(30));
+        }
+        stored.setEmergencySlots(1_000);
+
+        List<Throwable> failures = runConcurrently(100, i -> {
+            long id = i / 2 + 1;
+            if (i % 2 == 0) {
+                approve(id);
+            } else {
+                emergencyService.rejectRequest(MATCH_ID, id, CAPTAIN_ID);
+            }
+        });
+
+        assertThat(failures).allSatisfy(e ->
+            assertThat(((MvpException) e).getError()).isEqualTo(MvpError.EMERGENCY_ALREADY_PROCESSED));
+        long approved = requests.values().stream().filter(r -> r.getStatus() == EmergencyRequestStatus.APPROVED).count();
+        long rejected = requests.values().stream().filter(r -> r.getStatus() == EmergencyRequestStatus.REJECTED).count();
+        assertThat(approved + rejected).isEqualTo(50);
+        assertThat(failures).hasSize(50);
+        assertThat(participants).hasSize((int) approved);
+        assertThat(emergencyCount).hasValue((int) approved);
+    }
+
+    private void approve(long requestId) {
+        try {
+            emergencyService.approveRequest(MATCH_ID, requestId, CAPTAIN_ID);
+        } finally {
+            // Commit or rollback releases the match row lock
+            while (rowLock.isHeldByCurrentThread()) {
+                rowLock.unlock();
+            }
+        }
+    }
+
+    private void request(long id, long userId, OffsetDateTime lockExpiresAt) {
+        requests.put(id, EmergencyRequest.builder()
+            .id(id)
+            .matchId(MATCH_ID)
+            .userId(userId)
+            .status(EmergencyRequestStatus.REQUESTED)
+            .requestedAt(OffsetDateTime.now())
+            .lockExpiresAt(lockExpiresAt)
+            .version(0L)
+            .build());
+    }
+
+    private static EmergencyRequest copyOf(EmergencyRequest row) {
+        return EmergencyRequest.builder()
+            .id(row.getId())
+            .matchId(row.getMatchId())
+            .userId(row.getUserId())
+            .status(row.getStatus())
+            .requestedAt(row.getRequestedAt())
+            .lockExpiresAt(row.getLockExpiresAt())
+            .approvedAt(row.getApprovedAt())
+            .version(row.getVersion())
+            .build();
+    }
+
+    // Same predicate and version bump as EmergencyRequestRepository.expireIfDue
+    private void expireIfDue(long id, OffsetDateTime now) {
+        EmergencyRequest row = requests.get(id);
+        synchronized (row) {
+            if (row.getStatus() == EmergencyRequestStatus.REQUESTED && !row.getLockExpiresAt().isAfter(now)) {
+                row.setStatus(EmergencyRequestStatus.EXPIRED);
+                row.setVersion(row.getVersion() + 1);
+            }
+        }
+    }
+
+    private List<Throwable> runConcurrently(int tasks, IndexedTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        return runConcurrently(tasks, start, task);
+    }
+
+    private List<Throwable> runConcurrently(int tasks, CountDownLatch start, IndexedTask task) throws Exception {
+        List<Future<Throwable>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.run(index);
+                    return null;
+                } catch (MvpException e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<Throwable> future : futures) {
+            Throwable failure = future.get(30, TimeUnit.SECONDS);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        return failures;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
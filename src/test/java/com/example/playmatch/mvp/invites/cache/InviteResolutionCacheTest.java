@@ -0,0 +1,108 @@
+package com.example.playmatch.mvp.invites.cache;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.matches.event.MatchChangeType;
+import com.example.playmatch.mvp.matches.event.MatchChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InviteResolutionCacheTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private InviteResolutionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InviteResolutionCache(new SimpleMeterRegistry(), 100, 10, 10, 30);
+    }
+
+    @Test
+    void tokenScanningDoesNotEvictResolvedInvites() {
+        cache.get("GOODTOKN", found(MATCH_ID));
+
+        // Far more unknown tokens than either cache holds
+        for (int i = 0; i < 1_000; i++) {
+            InviteResolution resolution = cache.get(String.format("BAD%05d", i), notFound());
+            assertThat(resolution.error()).isEqualTo(MvpError.INVITE_NOT_FOUND);
+        }
+
+        loads.set(0);
+        assertThat(cache.get("GOODTOKN", found(MATCH_ID)).isFound()).isTrue();
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void negativeResultsAreCachedSeparately() {
+        cache.get("BADTOKEN", notFound());
+        cache.get("BADTOKEN", notFound());
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void anyRosterChangeDropsTheMatchPayloads() {
+        cache.get("TEAMTOKN", found(MATCH_ID));
+        cache.get("EMERTOKN", found(MATCH_ID));
+        cache.get("OTHERTKN", found(UUID.randomUUID()));
+
+        cache.onMatchChanged(new MatchChangedEvent(MATCH_ID, MatchChangeType.PARTICIPANT_JOINED, 5L));
+
+        loads.set(0);
+        cache.get("TEAMTOKN", found(MATCH_ID));
+        cache.get("EMERTOKN", found(MATCH_ID));
+        cache.get("OTHERTKN", found(UUID.randomUUID()));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void emergencyRequestChangesKeepPayloads() {
+        cache.get("TEAMTOKN", found(MATCH_ID));
+
+        cache.onMatchChanged(new MatchChangedEvent(MATCH_ID, MatchChangeType.EMERGENCY_REQUESTED, 5L));
+
+        loads.set(0);
+        cache.get("TEAMTOKN", found(MATCH_ID));
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void changeCommittingDuringALoadIsNotServedFromCache() {
+        // The match changes after the loader read the database but before the token is indexed
+        cache.get("RACETOKN", token -> {
+            InviteResolution stale = found(MATCH_ID).apply(token);
+            cache.onMatchChanged(new MatchChangedEvent(MATCH_ID, MatchChangeType.PARTICIPANT_JOINED, 5L));
+            return stale;
+        });
+
+        loads.set(0);
+        cache.get("RACETOKN", found(MATCH_ID));
+        assertThat(loads).hasValue(1);
+
+        // Loads that no change overlapped are kept as usual
+        cache.get("RACETOKN", found(MATCH_ID));
+        assertThat(loads).hasValue(1);
+    }
+
+    private Function<String, InviteResolution> found(UUID matchId) {
+        return token -> {
+            loads.incrementAndGet();
+            return InviteResolution.found(new InvitePayload(matchId, new byte[0], null, "W/\"" + token + "\""));
+        };
+    }
+
+    private Function<String, InviteResolution> notFound() {
+        return token -> {
+            loads.incrementAndGet();
+            return InviteResolution.failed(MvpError.INVITE_NOT_FOUND);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.playmatch.mvp.invites.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Database calls per invite token. The previous generator issued one existsByInviteToken query per
+ * token; the sequence-block permutation needs one nextval per block of 64 tokens.
+ */
+class InviteTokenGeneratorQueryCountTest {
+
+    private static final int TOKENS = 5_000;
+    private static final int BLOCK_SIZE = 64;
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong(1);
+    private JdbcTemplate jdbcTemplate;
+    private InviteTokenGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(eq("SELECT nextval('invite_token_seq')"), eq(Long.class))).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return sequence.getAndAdd(BLOCK_SIZE);
+        });
+        generator = new InviteTokenGenerator(jdbcTemplate, "query-count-key");
+        generator.createSequence();
+    }
+
+    @Test
+    void sequenceIsCreatedUpFrontNotPerAllocation() {
+        verify(jdbcTemplate).execute(anyString());
+
+        generator.generate(200);
+
+        // Only the initialisation DDL; allocations just call nextval
+        verify(jdbcTemplate).execute(anyString());
+    }
+
+    @Test
+    void singleTokensCostOneQueryPerBlock() {
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(generator.generate());
+        }
+
+        assertThat(tokens).hasSize(TOKENS).allMatch(token -> token.matches("^[A-Z0-9]{8}$"));
+        assertThat(queries).hasValue(blocks(TOKENS));
+    }
+
+    @Test
+    void seriesTokensCostOneQueryPerBlock() {
+        Set<String> tokens = new HashSet<>();
+        int generated = 0;
+        while (generated < TOKENS) {
+            List<String> series = generator.generate(26);
+            tokens.addAll(series);
+            generated += series.size();
+        }
+
+        // Unique by construction, across blocks and series
+        assertThat(tokens).hasSize(generated).allMatch(token -> token.matches("^[A-Z0-9]{8}$"));
+        assertThat(queries).hasValue(blocks(generated));
+    }
+
+    private static int blocks(int tokens) {
+        return (tokens + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+}
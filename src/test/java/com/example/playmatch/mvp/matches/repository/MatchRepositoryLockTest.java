@@ -0,0 +1,55 @@
+package com.example.playmatch.mvp.matches.repository;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.matches.model.Match;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchRepositoryLockTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+
+    private MatchRepository matchRepository;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        when(matchRepository.lockById(any())).thenCallRealMethod();
+    }
+
+    @Test
+    void lockTimeoutIsSetBeforeTheRowLockIsRequested() {
+        Match match = Match.builder().id(MATCH_ID).build();
+        when(matchRepository.findByIdForUpdate(MATCH_ID)).thenReturn(Optional.of(match));
+
+        assertThat(matchRepository.lockById(MATCH_ID)).containsSame(match);
+
+        InOrder order = inOrder(matchRepository);
+        order.verify(matchRepository).setLocalLockTimeout(MatchRepository.MATCH_LOCK_TIMEOUT);
+        order.verify(matchRepository).findByIdForUpdate(MATCH_ID);
+    }
+
+    @Test
+    void lockTimeoutSurfacesAsMatchBusy() {
+        // Postgres reports an expired lock_timeout as SQLState 55P03, which Spring translates to this
+        when(matchRepository.findByIdForUpdate(MATCH_ID))
+            .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        assertThatThrownBy(() -> matchRepository.lockById(MATCH_ID))
+            .isInstanceOfSatisfying(MvpException.class,
+                e -> assertThat(e.getError()).isEqualTo(MvpError.MATCH_BUSY));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.playmatch.mvp.matches.scheduler;
+
+import com.example.playmatch.mvp.common.lock.JobLock;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two instances sharing one JobLock: an in-memory flag stands in for the advisory lock
+ */
+class MatchCounterRepairSchedulerTest {
+
+    private final AtomicBoolean held = new AtomicBoolean();
+    private final UUID matchId = UUID.randomUUID();
+
+    private JobLock jobLock;
+    private MatchCounterService matchCounterService;
+
+    @BeforeEach
+    void setUp() {
+        jobLock = mock(JobLock.class);
+        when(jobLock.runExclusively(eq("match-counter-repair"), any())).thenAnswer(inv -> {
+            if (!held.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                inv.<Runnable>getArgument(1).run();
+                return true;
+            } finally {
+                held.set(false);
+            }
+        });
+        matchCounterService = mock(MatchCounterService.class);
+        when(matchCounterService.findDrifted(any())).thenReturn(List.of(matchId));
+    }
+
+    private MatchCounterRepairScheduler scheduler() {
+        MatchCounterRepairScheduler scheduler = new MatchCounterRepairScheduler(matchCounterService, jobLock);
+        ReflectionTestUtils.setField(scheduler, "repairWindowDays", 30);
+        ReflectionTestUtils.setField(scheduler, "repairAllOnStartup", true);
+        return scheduler;
+    }
+
+    @Test
+    void repairIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        held.set(true);
+
+        scheduler().repairAllOnStartup();
+        scheduler().repairRecent();
+
+        verify(matchCounterService, never()).findDrifted(any());
+        verify(matchCounterService, never()).repair(any());
+    }
+
+    @Test
+    void repairRunsOnceTheLockIsFree() {
+        scheduler().repairAllOnStartup();
+        scheduler().repairRecent();
+
+        verify(matchCounterService, times(2)).repair(matchId);
+    }
+}
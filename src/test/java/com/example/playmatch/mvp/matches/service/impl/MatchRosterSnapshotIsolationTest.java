@@ -0,0 +1,115 @@
+package com.example.playmatch.mvp.matches.service.impl;
+
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.invites.service.InviteService;
+import com.example.playmatch.mvp.matches.cache.MatchRosterCache;
+import com.example.playmatch.mvp.matches.dto.MatchResponseDto;
+import com.example.playmatch.mvp.matches.geo.NearbyMatchIndex;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchParticipant;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchUnavailabilityRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Responses built from the shared roster snapshot must not leak changes between readers
+ */
+class MatchRosterSnapshotIsolationTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+    private static final Long CAPTAIN_ID = 1L;
+
+    private MatchRepository matchRepository;
+    private Match match;
+    private MatchServiceImpl matchService;
+
+    @BeforeEach
+    void setUp() {
+        match = Match.builder()
+            .id(MATCH_ID)
+            .createdBy(CAPTAIN_ID)
+            .teamName("Strikers")
+            .status(MatchStatus.CREATED)
+            .startTime(OffsetDateTime.now().plusDays(1))
+            .feePerPerson(200)
+            .build();
+        matchRepository = mock(MatchRepository.class);
+        when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+
+        MatchParticipantRepository participantRepository = mock(MatchParticipantRepository.class);
+        when(participantRepository.findByMatchId(MATCH_ID)).thenReturn(List.of(MatchParticipant.builder()
+            .matchId(MATCH_ID)
+            .userId(2L)
+            .role(ParticipantRole.TEAM)
+            .feeAmount(200)
+            .build()));
+
+        MvpUserDirectory directory = mock(MvpUserDirectory.class);
+        when(directory.resolve(any())).thenReturn(Map.of(
+            CAPTAIN_ID, new UserContact(CAPTAIN_ID, "Captain", "+911", "Area"),
+            2L, new UserContact(2L, "Player", "+912", "Area")));
+
+        matchService = new MatchServiceImpl(
+            matchRepository,
+            participantRepository,
+            mock(MatchUnavailabilityRepository.class),
+            directory,
+            mock(InviteService.class),
+            mock(PlatformFeeLogRepository.class),
+            new MatchRosterCache(new SimpleMeterRegistry(), 100, 60),
+            mock(MatchCounterService.class),
+            mock(ApplicationEventPublisher.class),
+            mock(NearbyMatchIndex.class),
+            mock(TrustScoreService.class));
+    }
+
+    @Test
+    void captainResponsesDoNotShareParticipantInstances() {
+        MatchResponseDto first = matchService.getMatch(MATCH_ID, CAPTAIN_ID);
+        first.getParticipants().get(0).setPaymentStatus(PaymentStatus.PAID);
+        first.getParticipants().get(0).setPhoneNumber(null);
+
+        MatchResponseDto second = matchService.getMatch(MATCH_ID, CAPTAIN_ID);
+
+        verify(matchRepository, times(1)).findById(MATCH_ID);
+        assertThat(second.getParticipants().get(0).getPaymentStatus()).isEqualTo(PaymentStatus.UNPAID);
+        assertThat(second.getParticipants().get(0).getPhoneNumber()).isEqualTo("+912");
+    }
+
+    @Test
+    void snapshotIsDetachedFromTheLoadedEntity() {
+        matchService.getMatch(MATCH_ID, CAPTAIN_ID);
+
+        // A later change to the entity instance, e.g. in a transaction that loaded it, is not visible
+        match.setTeamName("Renamed");
+        match.setTeamCount(5);
+
+        MatchResponseDto cached = matchService.getMatch(MATCH_ID, 2L);
+        assertThat(cached.getTeamName()).isEqualTo("Strikers");
+        assertThat(cached.getTeamCount()).isZero();
+    }
+}
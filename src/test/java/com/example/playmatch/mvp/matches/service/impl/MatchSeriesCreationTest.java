@@ -0,0 +1,198 @@
+package com.example.playmatch.mvp.matches.service.impl;
+
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.invites.cache.InviteResolutionCache;
+import com.example.playmatch.mvp.invites.funnel.InviteFunnelRecorder;
+import com.example.playmatch.mvp.invites.model.InviteType;
+import com.example.playmatch.mvp.invites.model.MatchInvite;
+import com.example.playmatch.mvp.invites.repository.InviteFunnelStatsRepository;
+import com.example.playmatch.mvp.invites.repository.MatchInviteBatchRepository;
+import com.example.playmatch.mvp.invites.repository.MatchInviteRepository;
+import com.example.playmatch.mvp.invites.service.InviteTokenGenerator;
+import com.example.playmatch.mvp.invites.service.impl.InviteServiceImpl;
+import com.example.playmatch.mvp.matches.cache.MatchRosterCache;
+import com.example.playmatch.mvp.matches.dto.CreateMatchDto;
+import com.example.playmatch.mvp.matches.dto.CreateMatchSeriesDto;
+import com.example.playmatch.mvp.matches.dto.MatchCreatedResponseDto;
+import com.example.playmatch.mvp.matches.dto.MatchSeriesCreatedResponseDto;
+import com.example.playmatch.mvp.matches.geo.NearbyMatchIndex;
+import com.example.playmatch.mvp.matches.model.BallCategory;
+import com.example.playmatch.mvp.matches.model.BallVariant;
+import com.example.playmatch.mvp.matches.model.EventType;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchUnavailabilityRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Series creation through the real invite service. The match repository only makes rows
+ * visible to the JDBC invite batch once they are flushed, and the batch enforces the
+ * match_invite.match_id foreign key against those rows.
+ */
+class MatchSeriesCreationTest {
+
+    private static final Long CAPTAIN_ID = 1L;
+
+    private final Set<UUID> flushedMatchIds = ConcurrentHashMap.newKeySet();
+    private final List<MatchInvite> insertedInvites = new ArrayList<>();
+
+    private MatchRepository matchRepository;
+    private MatchInviteBatchRepository matchInviteBatchRepository;
+    private MatchServiceImpl matchService;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        when(matchRepository.saveAll(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+        when(matchRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> {
+            List<Match> saved = assignIds(inv.getArgument(0));
+            saved.forEach(match -> flushedMatchIds.add(match.getId()));
+            return saved;
+        });
+
+        matchInviteBatchRepository = mock(MatchInviteBatchRepository.class);
+        doAnswer(inv -> {
+            List<MatchInvite> invites = inv.getArgument(0);
+            for (MatchInvite invite : invites) {
+                if (!flushedMatchIds.contains(invite.getMatchId())) {
+                    throw new DataIntegrityViolationException(
+                        "insert on match_invite violates foreign key constraint fk_match_invite_match");
+                }
+            }
+            insertedInvites.addAll(invites);
+            return null;
+        }).when(matchInviteBatchRepository).insertAll(anyList());
+
+        InviteTokenGenerator inviteTokenGenerator = mock(InviteTokenGenerator.class);
+        when(inviteTokenGenerator.generate(anyInt())).thenAnswer(inv -> IntStream.range(0, inv.<Integer>getArgument(0))
+            .mapToObj(i -> UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase())
+            .toList());
+
+        InviteServiceImpl inviteService = new InviteServiceImpl(
+            mock(MatchInviteRepository.class),
+            matchInviteBatchRepository,
+            inviteTokenGenerator,
+            mock(InviteResolutionCache.class),
+            matchRepository,
+            new ObjectMapper(),
+            mock(InviteFunnelRecorder.class),
+            mock(InviteFunnelStatsRepository.class));
+        ReflectionTestUtils.setField(inviteService, "inviteBaseUrl", "https://play.example/i");
+
+        matchService = new MatchServiceImpl(
+            matchRepository,
+            mock(MatchParticipantRepository.class),
+            mock(MatchUnavailabilityRepository.class),
+            mock(MvpUserDirectory.class),
+            inviteService,
+            mock(PlatformFeeLogRepository.class),
+            mock(MatchRosterCache.class),
+            mock(MatchCounterService.class),
+            mock(ApplicationEventPublisher.class),
+            mock(NearbyMatchIndex.class),
+            mock(TrustScoreService.class));
+    }
+
+    @Test
+    void createsSeriesWithInvitesForEveryOccurrence() {
+        CreateMatchSeriesDto dto = CreateMatchSeriesDto.builder()
+            .template(template(true))
+            .occurrences(4)
+            .intervalDays(7)
+            .build();
+
+        MatchSeriesCreatedResponseDto response = matchService.createMatchSeries(dto, CAPTAIN_ID);
+
+        assertThat(response.getMatches()).hasSize(4);
+        assertThat(response.getMatches())
+            .allSatisfy(created -> {
+                assertThat(created.getTeamInviteUrl()).startsWith("https://play.example/i/");
+                assertThat(created.getEmergencyInviteUrl()).startsWith("https://play.example/i/");
+            });
+        List<UUID> matchIds = response.getMatches().stream().map(MatchCreatedResponseDto::getMatchId).toList();
+        assertThat(flushedMatchIds).containsExactlyInAnyOrderElementsOf(matchIds);
+
+        // One TEAM and one EMERGENCY invite per occurrence, all pointing at flushed matches
+        assertThat(insertedInvites).hasSize(8);
+        assertThat(insertedInvites.stream().filter(i -> i.getType() == InviteType.TEAM).map(MatchInvite::getMatchId))
+            .containsExactlyElementsOf(matchIds);
+        assertThat(insertedInvites.stream().filter(i -> i.getType() == InviteType.EMERGENCY).map(MatchInvite::getMatchId))
+            .containsExactlyElementsOf(matchIds);
+
+        // Matches are flushed before the JDBC batch runs
+        InOrder order = inOrder(matchRepository, matchInviteBatchRepository);
+        order.verify(matchRepository).saveAllAndFlush(anyList());
+        order.verify(matchInviteBatchRepository, times(2)).insertAll(anyList());
+        verify(matchRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void seriesOccurrencesAreSpacedByTheInterval() {
+        CreateMatchDto template = template(false);
+        CreateMatchSeriesDto dto = CreateMatchSeriesDto.builder()
+            .template(template)
+            .occurrences(3)
+            .intervalDays(14)
+            .build();
+
+        MatchSeriesCreatedResponseDto response = matchService.createMatchSeries(dto, CAPTAIN_ID);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Match>> saved = ArgumentCaptor.forClass(List.class);
+        verify(matchRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(Match::getStartTime).containsExactly(
+            template.getStartTime(), template.getStartTime().plusDays(14), template.getStartTime().plusDays(28));
+        assertThat(saved.getValue()).extracting(Match::getSeriesId).containsOnly(response.getSeriesId());
+        assertThat(response.getMatches()).allSatisfy(created -> assertThat(created.getEmergencyInviteUrl()).isNull());
+        assertThat(insertedInvites).hasSize(3);
+    }
+
+    private static List<Match> assignIds(List<Match> matches) {
+        matches.forEach(match -> match.setId(UUID.randomUUID()));
+        return matches;
+    }
+
+    private static CreateMatchDto template(boolean emergencyEnabled) {
+        return CreateMatchDto.builder()
+            .teamName("Sunday XI")
+            .eventType(EventType.PRACTICE)
+            .ballCategory(BallCategory.LEATHER)
+            .ballVariant(BallVariant.WHITE)
+            .groundMapsUrl("https://maps.google.com/?q=12.9716,77.5946")
+            .overs(20)
+            .feePerPerson(200)
+            .emergencyEnabled(emergencyEnabled)
+            .startTime(OffsetDateTime.now().plusDays(2))
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.playmatch.mvp.matches.service.impl;
+
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.invites.service.InviteService;
+import com.example.playmatch.mvp.matches.cache.MatchRosterCache;
+import com.example.playmatch.mvp.matches.dto.MyGamesResponseDto;
+import com.example.playmatch.mvp.matches.geo.NearbyMatchIndex;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchUnavailabilityRepository;
+import com.example.playmatch.mvp.matches.repository.MyGameSummaryView;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regression guard for the My Games N+1: the number of repository round trips must not
+ * grow with the number of games the user has.
+ */
+@ExtendWith(MockitoExtension.class)
+class MyGamesQueryCountTest {
+
+    private static final Long USER_ID = 42L;
+
+    @Mock private MatchRepository matchRepository;
+    @Mock private MatchParticipantRepository participantRepository;
+    @Mock private MatchUnavailabilityRepository unavailabilityRepository;
+    @Mock private MvpUserDirectory mvpUserDirectory;
+    @Mock private InviteService inviteService;
+    @Mock private PlatformFeeLogRepository platformFeeLogRepository;
+    @Mock private MatchRosterCache matchRosterCache;
+    @Mock private MatchCounterService matchCounterService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private NearbyMatchIndex nearbyMatchIndex;
+    @Mock private TrustScoreService trustScoreService;
+
+    @InjectMocks
+    private MatchServiceImpl matchService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 25, 500})
+    void myGamesIssuesOneQueryRegardlessOfGameCount(int games) {
+        List<MyGameSummaryView> rows = rows(games);
+        when(matchRepository.findMyGameSummaries(USER_ID)).thenReturn(rows);
+
+        MyGamesResponseDto response = matchService.getMyGames(USER_ID);
+
+        assertThat(response.getTotalCount()).isEqualTo(games);
+        verify(matchRepository, times(1)).findMyGameSummaries(USER_ID);
+        verifyNoMoreInteractions(matchRepository);
+        verifyNoInteractions(participantRepository, unavailabilityRepository, mvpUserDirectory,
+            matchRosterCache, matchCounterService);
+    }
+
+    private static List<MyGameSummaryView> rows(int count) {
+        List<MyGameSummaryView> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MyGameSummaryView row = mock(MyGameSummaryView.class);
+            when(row.getMatchId()).thenReturn(UUID.randomUUID());
+            when(row.getCreatedBy()).thenReturn(USER_ID);
+            when(row.getStatus()).thenReturn(MatchStatus.CREATED);
+            when(row.getStartTime()).thenReturn(OffsetDateTime.now().plusDays(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
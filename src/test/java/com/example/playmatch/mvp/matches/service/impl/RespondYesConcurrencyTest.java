@@ -0,0 +1,316 @@
+package com.example.playmatch.mvp.matches.service.impl;
+
+import com.example.playmatch.mvp.common.error.MvpError;
+import com.example.playmatch.mvp.common.exception.MvpException;
+import com.example.playmatch.mvp.emergency.service.TrustScoreService;
+import com.example.playmatch.mvp.invites.service.InviteService;
+import com.example.playmatch.mvp.matches.cache.MatchRosterCache;
+import com.example.playmatch.mvp.matches.geo.NearbyMatchIndex;
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
+import com.example.playmatch.mvp.matches.model.MatchParticipant;
+import com.example.playmatch.mvp.matches.model.MatchStatus;
+import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.model.ParticipantStatus;
+import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchUnavailabilityRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.repository.PlatformFeeLogRepository;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent YES responses against one match. The repositories are backed by in-memory state and
+ * findByIdForUpdate by a lock held until the simulated transaction ends, mirroring the
+ * SELECT ... FOR UPDATE row lock.
+ */
+class RespondYesConcurrencyTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+    private static final int REQUIRED_PLAYERS = 11;
+    private static final int BACKUP_SLOTS = 2;
+    private static final int FEE = 200;
+    private static final int EMERGENCY_FEE = 300;
+
+    private final ReentrantLock rowLock = new ReentrantLock();
+    private final Map<Long, MatchParticipant> rows = new ConcurrentHashMap<>();
+    private volatile long lockWaitMillis = 3_000;
+
+    private Match stored;
+    private MatchRepository matchRepository;
+    private MatchServiceImpl matchService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        stored = Match.builder()
+            .id(MATCH_ID)
+            .createdBy(1L)
+            .status(MatchStatus.CREATED)
+            .startTime(OffsetDateTime.now().plusDays(1))
+            .feePerPerson(FEE)
+            .emergencyFee(EMERGENCY_FEE)
+            .requiredPlayers(REQUIRED_PLAYERS)
+            .backupSlots(BACKUP_SLOTS)
+            .build();
+
+        matchRepository = mock(MatchRepository.class);
+        when(matchRepository.lockById(any())).thenCallRealMethod();
+        when(matchRepository.findByIdForUpdate(MATCH_ID)).thenAnswer(inv -> {
+            if (!rowLock.tryLock(lockWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("could not obtain lock on row in relation \"match\"");
+            }
+            return Optional.of(snapshot());
+        });
+
+        MatchParticipantRepository participantRepository = mock(MatchParticipantRepository.class);
+        when(participantRepository.findByMatchIdAndUserId(eq(MATCH_ID), anyLong()))
+            .thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<Long>getArgument(1))).map(this::copyOf));
+        when(participantRepository.save(any(MatchParticipant.class))).thenAnswer(inv -> {
+            MatchParticipant participant = inv.getArgument(0);
+            rows.put(participant.getUserId(), participant);
+            return participant;
+        });
+
+        MatchCounterService matchCounterService = mock(MatchCounterService.class);
+        doAnswer(inv -> {
+            // Runs under the row lock, like the UPDATE in the real transaction
+            assertThat(rowLock.isHeldByCurrentThread()).isTrue();
+            applyToStored(inv.getArgument(1));
+            return null;
+        }).when(matchCounterService).apply(eq(MATCH_ID), any());
+
+        matchService = new MatchServiceImpl(
+            matchRepository,
+            participantRepository,
+            mock(MatchUnavailabilityRepository.class),
+            mock(MvpUserDirectory.class),
+            mock(InviteService.class),
+            mock(PlatformFeeLogRepository.class),
+            mock(MatchRosterCache.class),
+            matchCounterService,
+            mock(ApplicationEventPublisher.class),
+            mock(NearbyMatchIndex.class),
+            mock(TrustScoreService.class));
+
+        executor = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentYesFillsEachSlotExactlyOnce() throws Exception {
+        int players = 200;
+        int responsesPerPlayer = 2; // double taps / client retries
+        AtomicInteger full = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 100; userId < 100 + players; userId++) {
+            for (int r = 0; r < responsesPerPlayer; r++) {
+                long user = userId;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        inTransaction(() -> matchService.respondYes(MATCH_ID, user));
+                    } catch (MvpException e) {
+                        assertThat(e.getError()).isEqualTo(MvpError.MATCH_FULL);
+                        full.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        long team = rows.values().stream().filter(p -> p.getRole() == ParticipantRole.TEAM).count();
+        long backup = rows.values().stream().filter(p -> p.getRole() == ParticipantRole.BACKUP).count();
+
+        assertThat(team).isEqualTo(REQUIRED_PLAYERS);
+        assertThat(backup).isEqualTo(BACKUP_SLOTS);
+        assertThat(rows).hasSize(REQUIRED_PLAYERS + BACKUP_SLOTS);
+        // Players left out are rejected on every attempt; an admitted player's repeat is a no-op
+        assertThat(full.get()).isEqualTo((players - rows.size()) * responsesPerPlayer);
+        assertThat(stored.getTeamCount()).isEqualTo(REQUIRED_PLAYERS);
+        assertThat(stored.getBackupCount()).isEqualTo(BACKUP_SLOTS);
+        assertThat(stored.getParticipantCount()).isEqualTo(rows.size());
+        assertThat(stored.getPendingAmount()).isEqualTo(rows.size() * FEE);
+    }
+
+    @Test
+    void rejoinTakesTheFeeOfTheNewRole() {
+        // Former emergency player who backed out; the team has a free slot again
+        MatchParticipant former = MatchParticipant.builder()
+            .matchId(MATCH_ID)
+            .userId(7L)
+            .role(ParticipantRole.EMERGENCY)
+            .status(ParticipantStatus.BACKED_OUT)
+            .feeAmount(EMERGENCY_FEE)
+            .paymentStatus(PaymentStatus.UNPAID)
+            .build();
+        rows.put(7L, former);
+        applyToStored(MatchCounterDelta.of(former));
+
+        inTransaction(() -> matchService.respondYes(MATCH_ID, 7L));
+
+        MatchParticipant rejoined = rows.get(7L);
+        assertThat(rejoined.getRole()).isEqualTo(ParticipantRole.TEAM);
+        assertThat(rejoined.getStatus()).isEqualTo(ParticipantStatus.CONFIRMED);
+        assertThat(rejoined.getFeeAmount()).isEqualTo(FEE);
+        assertThat(stored.getTeamCount()).isEqualTo(1);
+        assertThat(stored.getPendingAmount()).isEqualTo(FEE);
+    }
+
+    @Test
+    void lockTimeoutSurfacesAsRetryableMatchBusy() throws Exception {
+        lockWaitMillis = 50;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> {
+            rowLock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } finally {
+                rowLock.unlock();
+            }
+            return null;
+        });
+        locked.await();
+
+        try {
+            assertThatThrownBy(() -> inTransaction(() -> matchService.respondYes(MATCH_ID, 9L)))
+                .isInstanceOfSatisfying(MvpException.class, e -> {
+                    assertThat(e.getError()).isEqualTo(MvpError.MATCH_BUSY);
+                    assertThat(e.getError().status()).isEqualTo(HttpStatus.CONFLICT);
+                });
+        } finally {
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void concurrentNoReleasesTheSlotOnce() throws Exception {
+        inTransaction(() -> matchService.respondYes(MATCH_ID, 5L));
+        assertThat(stored.getTeamCount()).isEqualTo(1);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                inTransaction(() -> matchService.respondNo(MATCH_ID, 5L));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(rows.get(5L).getStatus()).isEqualTo(ParticipantStatus.BACKED_OUT);
+        assertThat(stored.getTeamCount()).isZero();
+        assertThat(stored.getParticipantCount()).isEqualTo(1);
+    }
+
+    /**
+     * Run a service call as one transaction: the row lock taken by findByIdForUpdate is
+     * released when the call returns or throws, as on commit/rollback
+     */
+    private void inTransaction(Runnable call) {
+        try {
+            call.run();
+        } finally {
+            while (rowLock.isHeldByCurrentThread()) {
+                rowLock.unlock();
+            }
+        }
+    }
+
+    // Each transaction works on its own copy of the row, as with separate persistence contexts
+    private MatchParticipant copyOf(MatchParticipant row) {
+        synchronized (row) {
+            return MatchParticipant.builder()
+                .id(row.getId())
+                .matchId(row.getMatchId())
+                .userId(row.getUserId())
+                .role(row.getRole())
+                .status(row.getStatus())
+                .feeAmount(row.getFeeAmount())
+                .paymentStatus(row.getPaymentStatus())
+                .paymentMode(row.getPaymentMode())
+                .build();
+        }
+    }
+
+    private Match snapshot() {
+        synchronized (stored) {
+            Match copy = Match.builder()
+                .id(stored.getId())
+                .createdBy(stored.getCreatedBy())
+                .status(stored.getStatus())
+                .startTime(stored.getStartTime())
+                .feePerPerson(stored.getFeePerPerson())
+                .emergencyFee(stored.getEmergencyFee())
+                .requiredPlayers(stored.getRequiredPlayers())
+                .backupSlots(stored.getBackupSlots())
+                .build();
+            copy.setTeamCount(stored.getTeamCount());
+            copy.setBackupCount(stored.getBackupCount());
+            copy.setEmergencyCount(stored.getEmergencyCount());
+            return copy;
+        }
+    }
+
+    private void applyToStored(MatchCounterDelta delta) {
+        synchronized (stored) {
+            stored.setTeamCount(stored.getTeamCount() + delta.team());
+            stored.setBackupCount(stored.getBackupCount() + delta.backup());
+            stored.setEmergencyCount(stored.getEmergencyCount() + delta.emergency());
+            stored.setPaidCount(stored.getPaidCount() + delta.paid());
+            stored.setCollectedAmount(stored.getCollectedAmount() + delta.collected());
+            stored.setParticipantCount(stored.getParticipantCount() + delta.participants());
+            stored.setPendingAmount(stored.getPendingAmount() + delta.pending());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.playmatch.mvp.payments.service.impl;
+
+import com.example.playmatch.mvp.matches.model.Match;
+import com.example.playmatch.mvp.matches.model.MatchCounterDelta;
+import com.example.playmatch.mvp.matches.model.MatchParticipant;
+import com.example.playmatch.mvp.matches.model.ParticipantRole;
+import com.example.playmatch.mvp.matches.model.PaymentMode;
+import com.example.playmatch.mvp.matches.model.PaymentStatus;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantBatchRepository;
+import com.example.playmatch.mvp.matches.repository.MatchParticipantRepository;
+import com.example.playmatch.mvp.matches.repository.MatchRepository;
+import com.example.playmatch.mvp.matches.service.MatchCounterService;
+import com.example.playmatch.mvp.payments.dto.MarkPaymentDto;
+import com.example.playmatch.mvp.users.service.MvpUserDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overlapping bulk and single payment marks for the same players. Reads see a stale snapshot of the rows and the
+ * conditional UPDATE is atomic per row, as with READ COMMITTED in Postgres.
+ */
+class MarkPaymentsConcurrencyTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+    private static final Long CAPTAIN_ID = 1L;
+    private static final int PLAYERS = 20;
+    private static final int FEE = 200;
+
+    private final Map<Long, MatchParticipant> rows = new ConcurrentHashMap<>();
+    private final AtomicInteger paidCount = new AtomicInteger();
+    private final AtomicInteger collectedAmount = new AtomicInteger();
+    private final AtomicInteger pendingAmount = new AtomicInteger(PLAYERS * FEE);
+
+    private PaymentServiceImpl paymentService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        for (long userId = 100; userId < 100 + PLAYERS; userId++) {
+            rows.put(userId, MatchParticipant.builder()
+                .matchId(MATCH_ID)
+                .userId(userId)
+                .role(ParticipantRole.TEAM)
+                .feeAmount(FEE)
+                .build());
+        }
+
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        when(matchRepository.findById(MATCH_ID))
+            .thenReturn(Optional.of(Match.builder().id(MATCH_ID).createdBy(CAPTAIN_ID).build()));
+
+        MatchParticipantRepository participantRepository = mock(MatchParticipantRepository.class);
+        when(participantRepository.findByMatchIdAndUserIdIn(eq(MATCH_ID), anyCollection())).thenAnswer(inv -> {
+            List<MatchParticipant> snapshot = new ArrayList<>();
+            for (Long userId : inv.<Collection<Long>>getArgument(1)) {
+                MatchParticipant row = rows.get(userId);
+                synchronized (row) {
+                    snapshot.add(MatchParticipant.builder()
+                        .matchId(MATCH_ID)
+                        .userId(userId)
+                        .role(row.getRole())
+                        .feeAmount(row.getFeeAmount())
+                        .paymentStatus(row.getPaymentStatus())
+                        .paymentMode(row.getPaymentMode())
+                        .build());
+                }
+            }
+            // Let the other request read the same UNPAID rows before either one writes
+            Thread.yield();
+            return snapshot;
+        });
+
+        when(participantRepository.findByMatchIdAndUserId(eq(MATCH_ID), any())).thenAnswer(inv -> {
+            MatchParticipant row = rows.get(inv.<Long>getArgument(1));
+            synchronized (row) {
+                return Optional.of(MatchParticipant.builder()
+                    .matchId(MATCH_ID)
+                    .userId(row.getUserId())
+                    .role(row.getRole())
+                    .feeAmount(row.getFeeAmount())
+                    .paymentStatus(row.getPaymentStatus())
+                    .paymentMode(row.getPaymentMode())
+                    .build());
+            }
+        });
+
+        MatchParticipantBatchRepository batchRepository = mock(MatchParticipantBatchRepository.class);
+        when(batchRepository.markPaid(eq(MATCH_ID), anyCollection(), any(), any())).thenAnswer(inv -> {
+            List<Integer> fees = new ArrayList<>();
+            for (Long userId : inv.<Collection<Long>>getArgument(1)) {
+                MatchParticipant row = rows.get(userId);
+                synchronized (row) {
+                    if (row.getPaymentStatus() == PaymentStatus.UNPAID) {
+                        row.setPaymentStatus(PaymentStatus.PAID);
+                        row.setPaymentMode(inv.getArgument(2));
+                        fees.add(row.getFeeAmount());
+                    }
+                }
+            }
+            return fees;
+        });
+
+        MatchCounterService matchCounterService = mock(MatchCounterService.class);
+        doAnswer(inv -> {
+            MatchCounterDelta delta = inv.getArgument(1);
+            paidCount.addAndGet(delta.paid());
+            collectedAmount.addAndGet(delta.collected());
+            pendingAmount.addAndGet(delta.pending());
+            return null;
+        }).when(matchCounterService).apply(eq(MATCH_ID), any());
+
+        paymentService = new PaymentServiceImpl(
+            matchRepository,
+            participantRepository,
+            batchRepository,
+            mock(MvpUserDirectory.class),
+            matchCounterService,
+            mock(ApplicationEventPublisher.class));
+
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void overlappingBulkMarksCountEachPaymentOnce() throws Exception {
+        List<MarkPaymentDto> payments = new ArrayList<>();
+        for (long userId = 100; userId < 100 + PLAYERS; userId++) {
+            payments.add(new MarkPaymentDto(userId, userId % 2 == 0 ? PaymentMode.CASH : PaymentMode.UPI));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return paymentService.markPayments(MATCH_ID, payments, CAPTAIN_ID);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(rows.values()).allMatch(p -> p.getPaymentStatus() == PaymentStatus.PAID);
+        assertThat(paidCount).hasValue(PLAYERS);
+        assertThat(collectedAmount).hasValue(PLAYERS * FEE);
+        assertThat(pendingAmount).hasValue(0);
+    }
+
+    @Test
+    void singleMarksRacingABulkMarkCountEachPaymentOnce() throws Exception {
+        List<MarkPaymentDto> payments = new ArrayList<>();
+        for (long userId = 100; userId < 100 + PLAYERS; userId++) {
+            payments.add(new MarkPaymentDto(userId, PaymentMode.UPI));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            start.await();
+            return paymentService.markPayments(MATCH_ID, payments, CAPTAIN_ID);
+        }));
+        for (long userId = 100; userId < 100 + PLAYERS; userId++) {
+            long user = userId;
+            futures.add(executor.submit(() -> {
+                start.await();
+                paymentService.markPayment(MATCH_ID, user, PaymentMode.CASH, CAPTAIN_ID);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(rows.values()).allMatch(p -> p.getPaymentStatus() == PaymentStatus.PAID);
+        assertThat(paidCount).hasValue(PLAYERS);
+        assertThat(collectedAmount).hasValue(PLAYERS * FEE);
+        assertThat(pendingAmount).hasValue(0);
+    }
+}
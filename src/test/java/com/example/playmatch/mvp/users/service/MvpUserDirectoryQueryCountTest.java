@@ -0,0 +1,96 @@
+package com.example.playmatch.mvp.users.service;
+
+import com.example.playmatch.mvp.users.dto.UserContact;
+import com.example.playmatch.mvp.users.model.MvpUser;
+import com.example.playmatch.mvp.users.repository.MvpUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Repository queries needed to resolve a 13-player roster plus its captain: one findById per user
+ * (the old per-row lookup) against the directory's single IN query (cold) and its near-cache (warm)
+ */
+class MvpUserDirectoryQueryCountTest {
+
+    private static final int ROSTER_SIZE = 13;
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private MvpUserRepository repository;
+    private List<Long> rosterIds;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MvpUserRepository.class);
+        when(repository.findById(anyLong())).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return Optional.of(user(inv.getArgument(0)));
+        });
+        when(repository.findAllById(any())).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            List<MvpUser> users = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                users.add(user(id));
+            }
+            return users;
+        });
+        // 13 participants + captain
+        rosterIds = LongStream.rangeClosed(1, ROSTER_SIZE + 1).boxed().toList();
+    }
+
+    @Test
+    void perUserLookupIssuesOneQueryPerUser() {
+        for (Long id : rosterIds) {
+            repository.findById(id).map(UserContact::from);
+        }
+
+        assertThat(queries).hasValue(ROSTER_SIZE + 1);
+    }
+
+    @Test
+    void coldDirectoryResolvesTheRosterInOneQuery() {
+        Map<Long, UserContact> users = newDirectory().resolve(rosterIds);
+
+        assertThat(users).hasSize(ROSTER_SIZE + 1);
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void warmDirectoryResolvesTheRosterWithoutQueries() {
+        MvpUserDirectory directory = newDirectory();
+        directory.resolve(rosterIds);
+        queries.set(0);
+
+        Map<Long, UserContact> users = directory.resolve(rosterIds);
+
+        assertThat(users).hasSize(ROSTER_SIZE + 1);
+        assertThat(queries).hasValue(0);
+    }
+
+    private MvpUserDirectory newDirectory() {
+        return new MvpUserDirectory(repository, new SimpleMeterRegistry(), 10_000, 10);
+    }
+
+    private static MvpUser user(Long id) {
+        return MvpUser.builder()
+            .id(id)
+            .name("Player " + id)
+            .phoneNumber("+9100000" + id)
+            .area("Area")
+            .build();
+    }
+}